@@ -1,5 +1,7 @@
 package dev.tylerpac.backend.config;
 
+import java.nio.file.Path;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -7,8 +9,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import dev.tylerpac.backend.service.email.EmailSender;
+import dev.tylerpac.backend.service.email.EmailTemplates;
 import dev.tylerpac.backend.service.email.LoggingEmailSender;
 import dev.tylerpac.backend.service.email.SesEmailSender;
+import dev.tylerpac.backend.service.email.SmtpEmailSender;
+import dev.tylerpac.backend.service.email.SmtpSettings;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ses.SesClient;
 
@@ -29,6 +34,33 @@ public class EmailConfig {
         return new SesEmailSender(sesClient, fromEmail);
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "app.email.provider", havingValue = "smtp")
+    public EmailSender smtpEmailSender(
+        @Value("${app.email.from}") String fromEmail,
+        @Value("${app.email.smtp.host}") String host,
+        @Value("${app.email.smtp.port:587}") int port,
+        @Value("${app.email.smtp.username:}") String username,
+        @Value("${app.email.smtp.password:}") String password,
+        @Value("${app.email.smtp.starttls:true}") boolean startTls,
+        @Value("${app.email.smtp.helo-name:localhost}") String heloName,
+        @Value("${app.email.smtp.connect-timeout-ms:5000}") int connectTimeoutMs,
+        @Value("${app.email.smtp.read-timeout-ms:30000}") int readTimeoutMs,
+        @Value("${app.email.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+        @Value("${app.email.smtp.pool-size:4}") int poolSize,
+        @Value("${app.email.smtp.max-idle-ms:30000}") long maxIdleMs,
+        @Value("${app.email.smtp.acquire-timeout-ms:10000}") long acquireTimeoutMs
+    ) {
+        SmtpSettings settings = new SmtpSettings(host, port, username, password, startTls, heloName,
+            connectTimeoutMs, readTimeoutMs, maxMessagesPerConnection);
+        return new SmtpEmailSender(settings, fromEmail, poolSize, maxIdleMs, acquireTimeoutMs);
+    }
+
+    @Bean
+    public EmailTemplates emailTemplates(@Value("${app.email.templates.dir:}") String templatesDir) {
+        return new EmailTemplates(templatesDir.isBlank() ? null : Path.of(templatesDir));
+    }
+
     @Bean
     @ConditionalOnMissingBean(EmailSender.class)
     public EmailSender loggingEmailSender() {
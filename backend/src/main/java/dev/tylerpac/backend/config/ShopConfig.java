@@ -0,0 +1,35 @@
+package dev.tylerpac.backend.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.tylerpac.backend.service.CatalogSource;
+import dev.tylerpac.backend.service.LocalCatalogSource;
+import dev.tylerpac.backend.service.StripeCatalogSource;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class ShopConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.shop.catalog-source", havingValue = "stripe")
+    public CatalogSource stripeCatalogSource(
+        @Value("${app.stripe.secret-key}") String stripeSecretKey,
+        @Value("${app.shop.currency:usd}") String currency,
+        @Value("${app.shop.catalog-refresh-seconds:300}") long refreshSeconds
+    ) {
+        return new StripeCatalogSource(stripeSecretKey, currency, Duration.ofSeconds(refreshSeconds));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CatalogSource.class)
+    public CatalogSource localCatalogSource(JsonMapper jsonMapper, @Value("${app.shop.catalog-file:}") String catalogFile) {
+        return new LocalCatalogSource(jsonMapper, catalogFile.isBlank() ? null : Path.of(catalogFile));
+    }
+}
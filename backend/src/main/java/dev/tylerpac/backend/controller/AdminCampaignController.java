@@ -0,0 +1,107 @@
+package dev.tylerpac.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.tylerpac.backend.dto.CreateEmailCampaignRequest;
+import dev.tylerpac.backend.dto.EmailCampaignResponse;
+import dev.tylerpac.backend.model.EmailCampaign;
+import dev.tylerpac.backend.service.EmailCampaignService;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/admin/campaigns")
+public class AdminCampaignController {
+
+    public static final String ADMIN_KEY_HEADER = "X-Admin-Key";
+
+    private final EmailCampaignService emailCampaignService;
+    private final byte[] adminApiKey;
+
+    public AdminCampaignController(
+        EmailCampaignService emailCampaignService,
+        @Value("${app.admin.api-key:}") String adminApiKey
+    ) {
+        this.emailCampaignService = emailCampaignService;
+        this.adminApiKey = StringUtils.hasText(adminApiKey) ? adminApiKey.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> create(
+        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String adminKey,
+        @Valid @RequestBody CreateEmailCampaignRequest request
+    ) {
+        if (!authorized(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("forbidden");
+        }
+        EmailCampaign campaign;
+        try {
+            campaign = emailCampaignService.create(request.getName(), request.getSubject(), request.getBody());
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("campaign_exists");
+        }
+        emailCampaignService.start(campaign.getId());
+        return ResponseEntity.accepted().body(EmailCampaignResponse.of(campaign));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> get(
+        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String adminKey,
+        @PathVariable("id") Long id
+    ) {
+        if (!authorized(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("forbidden");
+        }
+        return emailCampaignService.find(id)
+            .<ResponseEntity<?>>map(campaign -> ResponseEntity.ok(EmailCampaignResponse.of(campaign)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/start")
+    public ResponseEntity<?> start(
+        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String adminKey,
+        @PathVariable("id") Long id
+    ) {
+        if (!authorized(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("forbidden");
+        }
+        if (emailCampaignService.find(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        emailCampaignService.start(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/{id}/pause")
+    public ResponseEntity<?> pause(
+        @RequestHeader(value = ADMIN_KEY_HEADER, required = false) String adminKey,
+        @PathVariable("id") Long id
+    ) {
+        if (!authorized(adminKey)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("forbidden");
+        }
+        if (emailCampaignService.find(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        emailCampaignService.pause(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    private boolean authorized(String adminKey) {
+        return adminApiKey != null && adminKey != null
+            && MessageDigest.isEqual(adminApiKey, adminKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +12,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -28,8 +30,13 @@ import dev.tylerpac.backend.model.User;
 import dev.tylerpac.backend.model.UserTokenPurpose;
 import dev.tylerpac.backend.repo.UserRepository;
 import dev.tylerpac.backend.security.JwtUtil;
+import dev.tylerpac.backend.security.LoginUserContext;
+import dev.tylerpac.backend.security.PasswordHashingUnavailableException;
 import dev.tylerpac.backend.service.AuthEmailService;
 import dev.tylerpac.backend.service.AuthSecurityService;
+import dev.tylerpac.backend.service.EmailCoalescer;
+import dev.tylerpac.backend.service.EmailCoalescer.MessageType;
+import dev.tylerpac.backend.service.StripeCustomerProvisioner;
 import dev.tylerpac.backend.service.UserTokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -45,6 +52,8 @@ public class AuthController {
     private final UserTokenService userTokenService;
     private final AuthEmailService authEmailService;
     private final AuthSecurityService authSecurityService;
+    private final EmailCoalescer emailCoalescer;
+    private final StripeCustomerProvisioner stripeCustomerProvisioner;
     private final long emailVerificationTtlMinutes;
     private final long passwordResetTtlMinutes;
     private final long accessTokenTtlMinutes;
@@ -58,6 +67,8 @@ public class AuthController {
         UserTokenService userTokenService,
         AuthEmailService authEmailService,
         AuthSecurityService authSecurityService,
+        EmailCoalescer emailCoalescer,
+        StripeCustomerProvisioner stripeCustomerProvisioner,
         @Value("${app.auth.verification-ttl-minutes}") long emailVerificationTtlMinutes,
         @Value("${app.auth.reset-ttl-minutes}") long passwordResetTtlMinutes,
         @Value("${app.auth.access-token-ttl-minutes:15}") long accessTokenTtlMinutes,
@@ -70,6 +81,8 @@ public class AuthController {
         this.userTokenService = userTokenService;
         this.authEmailService = authEmailService;
         this.authSecurityService = authSecurityService;
+        this.emailCoalescer = emailCoalescer;
+        this.stripeCustomerProvisioner = stripeCustomerProvisioner;
         this.emailVerificationTtlMinutes = emailVerificationTtlMinutes;
         this.passwordResetTtlMinutes = passwordResetTtlMinutes;
         this.accessTokenTtlMinutes = accessTokenTtlMinutes;
@@ -89,13 +102,14 @@ public class AuthController {
         User u = new User(req.getUsername(), passwordEncoder.encode(req.getPassword()), req.getEmail());
         u.setEmailVerified(false);
         userRepository.save(u);
-
-        String verificationToken = userTokenService.issueToken(
-            u,
-            UserTokenPurpose.EMAIL_VERIFICATION,
-            Duration.ofMinutes(emailVerificationTtlMinutes)
-        );
-        authEmailService.sendVerificationEmail(u.getEmail(), u.getUsername(), verificationToken);
+        if (emailCoalescer.tryAcquire(u.getEmail(), MessageType.VERIFICATION)) {
+            String verificationToken = userTokenService.issueToken(
+                u,
+                UserTokenPurpose.EMAIL_VERIFICATION,
+                Duration.ofMinutes(emailVerificationTtlMinutes)
+            );
+            authEmailService.sendVerificationEmail(u.getEmail(), u.getUsername(), verificationToken);
+        }
 
         return ResponseEntity.accepted().body("verification_sent");
     }
@@ -116,7 +130,9 @@ public class AuthController {
         }
 
         try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
+            LoginUserContext.withLookup(req.getUsername(), existingUser, () -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword())
+            ));
         } catch (BadCredentialsException ex) {
             authSecurityService.recordAuthFailure(req.getUsername(), ipAddress);
             return ResponseEntity.status(401).body("invalid_credentials");
@@ -127,7 +143,7 @@ public class AuthController {
 
         authSecurityService.recordAuthSuccess(req.getUsername(), ipAddress);
         User user = existingUser.orElseThrow();
-        String accessToken = jwtUtil.generateToken(req.getUsername(), 1000L * 60 * accessTokenTtlMinutes);
+        String accessToken = jwtUtil.generateToken(user, 1000L * 60 * accessTokenTtlMinutes);
         String refreshToken = userTokenService.issueToken(
             user,
             UserTokenPurpose.REFRESH_SESSION,
@@ -138,20 +154,17 @@ public class AuthController {
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest req) {
-        Optional<User> userOpt = userTokenService.consumeToken(req.getRefreshToken(), UserTokenPurpose.REFRESH_SESSION);
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.status(401).body("invalid_refresh_token");
-        }
-
-        User user = userOpt.get();
-        String accessToken = jwtUtil.generateToken(user.getUsername(), 1000L * 60 * accessTokenTtlMinutes);
-        String nextRefreshToken = userTokenService.issueToken(
-            user,
-            UserTokenPurpose.REFRESH_SESSION,
+        Optional<UserTokenService.RotatedToken> rotated = userTokenService.rotateRefreshToken(
+            req.getRefreshToken(),
             Duration.ofDays(refreshTokenTtlDays)
         );
+        if (rotated.isEmpty()) {
+            return ResponseEntity.status(401).body("invalid_refresh_token");
+        }
 
-        return ResponseEntity.ok(new AuthResponse(accessToken, nextRefreshToken, "Bearer", accessTokenTtlMinutes * 60));
+        User user = rotated.get().user();
+        String accessToken = jwtUtil.generateToken(user, 1000L * 60 * accessTokenTtlMinutes);
+        return ResponseEntity.ok(new AuthResponse(accessToken, rotated.get().rawToken(), "Bearer", accessTokenTtlMinutes * 60));
     }
 
     @GetMapping("/verify-email")
@@ -167,6 +180,7 @@ public class AuthController {
         User user = userOpt.get();
         user.setEmailVerified(true);
         userRepository.save(user);
+        stripeCustomerProvisioner.enqueue(user.getId());
         return ResponseEntity.ok("email_verified");
     }
 
@@ -175,7 +189,7 @@ public class AuthController {
         Optional<User> userOpt = userRepository.findByEmail(req.getEmail());
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (!user.isEmailVerified()) {
+            if (!user.isEmailVerified() && emailCoalescer.tryAcquire(user.getEmail(), MessageType.VERIFICATION)) {
                 String verificationToken = userTokenService.issueToken(
                     user,
                     UserTokenPurpose.EMAIL_VERIFICATION,
@@ -190,7 +204,7 @@ public class AuthController {
     @PostMapping("/password-reset/request")
     public ResponseEntity<?> requestPasswordReset(@Valid @RequestBody PasswordResetRequest req) {
         Optional<User> userOpt = userRepository.findByEmail(req.getEmail());
-        if (userOpt.isPresent()) {
+        if (userOpt.isPresent() && emailCoalescer.tryAcquire(userOpt.get().getEmail(), MessageType.PASSWORD_RESET)) {
             User user = userOpt.get();
             String resetToken = userTokenService.issueToken(
                 user,
@@ -217,6 +231,13 @@ public class AuthController {
         return ResponseEntity.ok("password_reset_success");
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<?> passwordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(ex.getMessage());
+    }
+
     private String resolveClientIp(HttpServletRequest request) {
         String forwardedFor = request.getHeader("X-Forwarded-For");
         if (StringUtils.hasText(forwardedFor)) {
@@ -1,9 +1,13 @@
 package dev.tylerpac.backend.controller;
 
 import java.security.Principal;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,17 +15,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.springframework.security.core.Authentication;
+
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 
 import dev.tylerpac.backend.dto.CreateCheckoutSessionRequest;
 import dev.tylerpac.backend.dto.CreateCheckoutSessionResponse;
-import dev.tylerpac.backend.dto.ShopOrderResponse;
-import dev.tylerpac.backend.dto.ShopProductResponse;
+import dev.tylerpac.backend.dto.ShopOrderPage;
 import dev.tylerpac.backend.model.User;
 import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.security.AuthenticatedUser;
+import dev.tylerpac.backend.service.ShopCatalog;
+import dev.tylerpac.backend.service.ShopCatalogService;
 import dev.tylerpac.backend.service.StripeShopService;
 import jakarta.validation.Valid;
 
@@ -29,17 +38,52 @@ import jakarta.validation.Valid;
 @RequestMapping("/shop")
 public class ShopController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final CacheControl ORDERS_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final StripeShopService stripeShopService;
     private final UserRepository userRepository;
+    private final ShopCatalogService shopCatalogService;
+    private final CacheControl catalogCacheControl;
 
-    public ShopController(StripeShopService stripeShopService, UserRepository userRepository) {
+    public ShopController(
+        StripeShopService stripeShopService,
+        UserRepository userRepository,
+        ShopCatalogService shopCatalogService,
+        @Value("${app.shop.catalog-max-age-seconds:60}") long catalogMaxAgeSeconds
+    ) {
         this.stripeShopService = stripeShopService;
         this.userRepository = userRepository;
+        this.shopCatalogService = shopCatalogService;
+        this.catalogCacheControl = CacheControl.maxAge(catalogMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
     }
 
     @GetMapping("/products")
-    public ResponseEntity<List<ShopProductResponse>> products() {
-        return ResponseEntity.ok(stripeShopService.getProducts());
+    public ResponseEntity<byte[]> products(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ShopCatalog catalog = shopCatalogService.current();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = gzip ? catalog.getGzipEtag() : catalog.getEtag();
+
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(catalogCacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .cacheControl(catalogCacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.getGzippedJson());
+        }
+        return response.body(catalog.getJson());
     }
 
     @PostMapping("/checkout-session")
@@ -49,8 +93,8 @@ public class ShopController {
         Principal principal
     ) {
         try {
-            User user = requireUser(principal);
-            CreateCheckoutSessionResponse response = stripeShopService.createCheckoutSession(user, request.getProductId(), idempotencyKey);
+            Long userId = requireUserId(principal);
+            CreateCheckoutSessionResponse response = stripeShopService.createCheckoutSession(userId, request.getProductId(), idempotencyKey);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
@@ -59,15 +103,59 @@ public class ShopController {
         }
     }
 
+    @PostMapping("/checkout-session/prefetch")
+    public ResponseEntity<?> prefetchCheckoutSession(
+        @Valid @RequestBody CreateCheckoutSessionRequest request,
+        Principal principal
+    ) {
+        try {
+            Long userId = requireUserId(principal);
+            stripeShopService.prefetchCheckoutSession(userId, request.getProductId());
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (StripeException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(ex.getMessage());
+        }
+    }
+
     @GetMapping("/orders")
-    public ResponseEntity<?> orders(Principal principal) {
+    public ResponseEntity<?> orders(
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        Principal principal
+    ) {
+        Long userId;
+        String etag;
         try {
-            User user = requireUser(principal);
-            List<ShopOrderResponse> orders = stripeShopService.getOrders(user);
-            return ResponseEntity.ok(orders);
+            userId = requireUserId(principal);
+            etag = "\"" + userId + "." + stripeShopService.getOrderVersion(userId) + "\"";
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
         }
+
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(ORDERS_CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .build();
+        }
+
+        try {
+            ShopOrderPage page = stripeShopService.getOrders(userId, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ORDERS_CACHE_CONTROL)
+                .varyBy(HttpHeaders.AUTHORIZATION);
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.orders());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
     }
 
     @PostMapping("/webhook")
@@ -89,11 +177,32 @@ public class ShopController {
         }
     }
 
-    private User requireUser(Principal principal) {
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long requireUserId(Principal principal) {
         if (principal == null || !StringUtils.hasText(principal.getName())) {
             throw new IllegalArgumentException("unauthorized");
         }
+        if (principal instanceof Authentication authentication
+            && authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getId();
+        }
         return userRepository.findByUsername(principal.getName())
+            .map(User::getId)
             .orElseThrow(() -> new IllegalArgumentException("unauthorized"));
     }
 }
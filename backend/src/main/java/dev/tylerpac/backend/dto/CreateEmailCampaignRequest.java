@@ -0,0 +1,42 @@
+package dev.tylerpac.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class CreateEmailCampaignRequest {
+
+    @NotBlank(message = "name_required")
+    @Size(max = 128, message = "name_too_long")
+    private String name;
+
+    @NotBlank(message = "subject_required")
+    @Size(max = 512, message = "subject_too_long")
+    private String subject;
+
+    @NotBlank(message = "body_required")
+    private String body;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.tylerpac.backend.dto;
+
+import java.time.Instant;
+
+import dev.tylerpac.backend.model.EmailCampaign;
+import dev.tylerpac.backend.model.EmailCampaignStatus;
+
+public record EmailCampaignResponse(
+    Long id,
+    String name,
+    EmailCampaignStatus status,
+    long lastUserId,
+    long sentCount,
+    long failedCount,
+    Instant createdAt,
+    Instant completedAt
+) {
+
+    public static EmailCampaignResponse of(EmailCampaign campaign) {
+        return new EmailCampaignResponse(campaign.getId(), campaign.getName(), campaign.getStatus(),
+            campaign.getLastUserId(), campaign.getSentCount(), campaign.getFailedCount(), campaign.getCreatedAt(),
+            campaign.getCompletedAt());
+    }
+}
@@ -0,0 +1,6 @@
+package dev.tylerpac.backend.dto;
+
+import java.util.List;
+
+public record ShopOrderPage(List<ShopOrderResponse> orders, String nextCursor) {
+}
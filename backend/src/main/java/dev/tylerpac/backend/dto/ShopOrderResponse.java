@@ -17,6 +17,20 @@ public class ShopOrderResponse {
 
     public ShopOrderResponse() {}
 
+    public ShopOrderResponse(Long id, String productId, String productName, long amountCents, String currency, String status,
+        String stripeCheckoutSessionId, String stripePaymentIntentId, Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.productId = productId;
+        this.productName = productName;
+        this.amountCents = amountCents;
+        this.currency = currency;
+        this.status = status;
+        this.stripeCheckoutSessionId = stripeCheckoutSessionId;
+        this.stripePaymentIntentId = stripePaymentIntentId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
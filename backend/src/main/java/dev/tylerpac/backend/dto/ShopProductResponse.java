@@ -7,6 +7,7 @@ public class ShopProductResponse {
     private String description;
     private long amountCents;
     private String currency;
+    private String priceId;
 
     public ShopProductResponse() {}
 
@@ -57,4 +58,12 @@ public class ShopProductResponse {
     public void setCurrency(String currency) {
         this.currency = currency;
     }
-}
+
+    public String getPriceId() {
+        return priceId;
+    }
+
+    public void setPriceId(String priceId) {
+        this.priceId = priceId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package dev.tylerpac.backend.model;
+
+public enum EmailCampaignStatus {
+    RUNNING,
+    PAUSED,
+    COMPLETED
+}
@@ -0,0 +1,8 @@
+package dev.tylerpac.backend.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
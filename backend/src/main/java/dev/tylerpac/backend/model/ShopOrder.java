@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -15,7 +16,9 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "shop_orders")
+@Table(name = "shop_orders", indexes = {
+    @Index(name = "idx_shop_orders_user_created", columnList = "user_id,createdAt,id")
+})
 public class ShopOrder {
 
     @Id
@@ -47,6 +50,12 @@ public class ShopOrder {
     @Column
     private String stripePaymentIntentId;
 
+    @Column(length = 1024)
+    private String checkoutUrl;
+
+    @Column
+    private Instant checkoutExpiresAt;
+
     @Column(unique = true)
     private String idempotencyKey;
 
@@ -140,6 +149,22 @@ public class ShopOrder {
         this.stripePaymentIntentId = stripePaymentIntentId;
     }
 
+    public String getCheckoutUrl() {
+        return checkoutUrl;
+    }
+
+    public void setCheckoutUrl(String checkoutUrl) {
+        this.checkoutUrl = checkoutUrl;
+    }
+
+    public Instant getCheckoutExpiresAt() {
+        return checkoutExpiresAt;
+    }
+
+    public void setCheckoutExpiresAt(Instant checkoutExpiresAt) {
+        this.checkoutExpiresAt = checkoutExpiresAt;
+    }
+
     public String getIdempotencyKey() {
         return idempotencyKey;
     }
@@ -25,6 +25,9 @@ public class User {
     @Column(unique = true)
     private String stripeCustomerId;
 
+    @Column(nullable = false, updatable = false)
+    private long orderVersion;
+
     public User() {}
 
     public User(String username, String password, String email) {
@@ -46,4 +49,5 @@ public class User {
     public void setEmailVerified(boolean emailVerified) { this.emailVerified = emailVerified; }
     public String getStripeCustomerId() { return stripeCustomerId; }
     public void setStripeCustomerId(String stripeCustomerId) { this.stripeCustomerId = stripeCustomerId; }
+    public long getOrderVersion() { return orderVersion; }
 }
@@ -18,7 +18,8 @@ import jakarta.persistence.Table;
 @Entity
 @Table(name = "user_tokens", indexes = {
     @Index(name = "idx_user_tokens_hash", columnList = "tokenHash", unique = true),
-    @Index(name = "idx_user_tokens_user_purpose", columnList = "user_id,purpose")
+    @Index(name = "idx_user_tokens_user_purpose", columnList = "user_id,purpose"),
+    @Index(name = "idx_user_tokens_family", columnList = "familyId")
 })
 public class UserToken {
 
@@ -37,6 +38,9 @@ public class UserToken {
     @Column(nullable = false, unique = true, length = 64)
     private String tokenHash;
 
+    @Column(length = 36)
+    private String familyId;
+
     @Column(nullable = false)
     private Instant expiresAt;
 
@@ -78,6 +82,14 @@ public class UserToken {
         this.tokenHash = tokenHash;
     }
 
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
     public Instant getExpiresAt() {
         return expiresAt;
     }
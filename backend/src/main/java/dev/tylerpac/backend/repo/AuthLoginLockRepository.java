@@ -1,17 +1,81 @@
 package dev.tylerpac.backend.repo;
 
-import java.util.Optional;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.tylerpac.backend.model.AuthLoginLock;
-import jakarta.persistence.LockModeType;
 
 public interface AuthLoginLockRepository extends JpaRepository<AuthLoginLock, Long> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<AuthLoginLock> findByLockKey(String lockKey);
+    List<AuthLoginLock> findByLockKeyIn(Collection<String> lockKeys);
 
-    void deleteByLockKey(String lockKey);
+    List<AuthLoginLock> findByLockedUntilAfter(Instant now);
+
+    boolean existsByLockKeyAndLockedUntilAfter(String lockKey, Instant now);
+
+    @Modifying
+    @Query("delete from AuthLoginLock l where l.lockKey = :lockKey")
+    int deleteByLockKey(@Param("lockKey") String lockKey);
+
+    @Modifying
+    @Query("delete from AuthLoginLock l where l.lockKey in :lockKeys")
+    int deleteByLockKeyIn(@Param("lockKeys") Collection<String> lockKeys);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO auth_login_locks (lock_key, window_start, failure_count, locked_until)
+        VALUES (:lockKey, :now, 1, IF(:maxFailures <= 1, :lockedUntil, NULL))
+        ON DUPLICATE KEY UPDATE
+            failure_count = IF(locked_until > :now, failure_count,
+                IF(window_start < :windowFloor OR locked_until IS NOT NULL, 1, failure_count + 1)),
+            window_start = IF(locked_until > :now, window_start,
+                IF(window_start < :windowFloor OR locked_until IS NOT NULL, :now, window_start)),
+            locked_until = IF(locked_until > :now, locked_until,
+                IF(failure_count >= :maxFailures, :lockedUntil, NULL))
+        """, nativeQuery = true)
+    int recordFailureMySql(
+        @Param("lockKey") String lockKey,
+        @Param("now") Instant now,
+        @Param("windowFloor") Instant windowFloor,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("maxFailures") int maxFailures
+    );
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO auth_login_locks (lock_key, window_start, failure_count, locked_until)
+        VALUES (:lockKey, :now, 1, CASE WHEN :maxFailures <= 1 THEN :lockedUntil ELSE NULL END)
+        ON DUPLICATE KEY UPDATE
+            failure_count = CASE WHEN locked_until > :now THEN failure_count
+                WHEN window_start < :windowFloor OR locked_until IS NOT NULL THEN 1
+                ELSE failure_count + 1 END,
+            window_start = CASE WHEN locked_until > :now THEN window_start
+                WHEN window_start < :windowFloor OR locked_until IS NOT NULL THEN :now
+                ELSE window_start END,
+            locked_until = CASE WHEN locked_until > :now THEN locked_until
+                WHEN (CASE WHEN window_start < :windowFloor OR locked_until IS NOT NULL THEN 1
+                    ELSE failure_count + 1 END) >= :maxFailures THEN :lockedUntil
+                ELSE NULL END
+        """, nativeQuery = true)
+    int recordFailureH2(
+        @Param("lockKey") String lockKey,
+        @Param("now") Instant now,
+        @Param("windowFloor") Instant windowFloor,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("maxFailures") int maxFailures
+    );
+
+    @Query("""
+        select l.id from AuthLoginLock l
+        where l.id > :afterId and l.windowStart < :cutoff and (l.lockedUntil is null or l.lockedUntil < :cutoff)
+        order by l.id
+        """)
+    List<Long> findIdsForPurge(@Param("afterId") long afterId, @Param("cutoff") Instant cutoff, Limit limit);
 }
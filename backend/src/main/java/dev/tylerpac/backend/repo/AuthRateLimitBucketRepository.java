@@ -1,15 +1,36 @@
 package dev.tylerpac.backend.repo;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.tylerpac.backend.model.AuthRateLimitBucket;
-import jakarta.persistence.LockModeType;
-import org.springframework.data.jpa.repository.Lock;
 
 public interface AuthRateLimitBucketRepository extends JpaRepository<AuthRateLimitBucket, Long> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<AuthRateLimitBucket> findByIpAddress(String ipAddress);
+    @Query("select b.requestCount from AuthRateLimitBucket b where b.ipAddress = :ipAddress")
+    Optional<Integer> findRequestCountByIpAddress(@Param("ipAddress") String ipAddress);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO auth_rate_limit_buckets (ip_address, window_start, request_count)
+        VALUES (:ipAddress, :now, 1)
+        ON DUPLICATE KEY UPDATE
+            request_count = CASE WHEN window_start < :windowFloor THEN 1 ELSE request_count + 1 END,
+            window_start = CASE WHEN window_start < :windowFloor THEN :now ELSE window_start END
+        """, nativeQuery = true)
+    int increment(
+        @Param("ipAddress") String ipAddress,
+        @Param("now") Instant now,
+        @Param("windowFloor") Instant windowFloor
+    );
+
+    @Query("select b.id from AuthRateLimitBucket b where b.id > :afterId and b.windowStart < :cutoff order by b.id")
+    List<Long> findIdsForPurge(@Param("afterId") long afterId, @Param("cutoff") Instant cutoff, Limit limit);
 }
@@ -0,0 +1,13 @@
+package dev.tylerpac.backend.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import dev.tylerpac.backend.model.EmailCampaign;
+import dev.tylerpac.backend.model.EmailCampaignStatus;
+
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+
+    List<EmailCampaign> findByStatus(EmailCampaignStatus status);
+}
@@ -0,0 +1,70 @@
+package dev.tylerpac.backend.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.tylerpac.backend.model.EmailOutboxMessage;
+import dev.tylerpac.backend.model.EmailOutboxStatus;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    @Query("""
+        select m.id from EmailOutboxMessage m
+        where m.status in :statuses and m.nextAttemptAt <= :now
+        order by m.nextAttemptAt, m.id
+        """)
+    List<Long> findDueIds(
+        @Param("statuses") Collection<EmailOutboxStatus> statuses,
+        @Param("now") Instant now,
+        Limit limit
+    );
+
+    @Modifying
+    @Query("""
+        update EmailOutboxMessage m
+        set m.status = :sending, m.claimToken = :claimToken, m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1
+        where m.id in :ids and m.status in :statuses and m.nextAttemptAt <= :now
+        """)
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("statuses") Collection<EmailOutboxStatus> statuses,
+        @Param("sending") EmailOutboxStatus sending,
+        @Param("claimToken") String claimToken,
+        @Param("now") Instant now,
+        @Param("leaseUntil") Instant leaseUntil
+    );
+
+    List<EmailOutboxMessage> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("""
+        update EmailOutboxMessage m
+        set m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.sentAt = :sentAt, m.lastError = :lastError,
+            m.claimToken = null
+        where m.id = :id and m.claimToken = :claimToken
+        """)
+    int complete(
+        @Param("id") Long id,
+        @Param("claimToken") String claimToken,
+        @Param("status") EmailOutboxStatus status,
+        @Param("nextAttemptAt") Instant nextAttemptAt,
+        @Param("sentAt") Instant sentAt,
+        @Param("lastError") String lastError
+    );
+
+    long countByStatus(EmailOutboxStatus status);
+
+    @Query("""
+        select m.id from EmailOutboxMessage m
+        where m.id > :afterId and m.status = dev.tylerpac.backend.model.EmailOutboxStatus.SENT and m.sentAt < :cutoff
+        order by m.id
+        """)
+    List<Long> findIdsForPurge(@Param("afterId") long afterId, @Param("cutoff") Instant cutoff, Limit limit);
+}
@@ -1,9 +1,18 @@
 package dev.tylerpac.backend.repo;
 
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.tylerpac.backend.model.ProcessedStripeEvent;
 
 public interface ProcessedStripeEventRepository extends JpaRepository<ProcessedStripeEvent, Long> {
     boolean existsByEventId(String eventId);
+
+    @Query("select e.id from ProcessedStripeEvent e where e.id > :afterId and e.processedAt < :cutoff order by e.id")
+    List<Long> findIdsForPurge(@Param("afterId") long afterId, @Param("cutoff") Instant cutoff, Limit limit);
 }
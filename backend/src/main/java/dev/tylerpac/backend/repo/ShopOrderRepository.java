@@ -1,15 +1,44 @@
 package dev.tylerpac.backend.repo;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import dev.tylerpac.backend.dto.ShopOrderResponse;
 import dev.tylerpac.backend.model.ShopOrder;
 import dev.tylerpac.backend.model.User;
 
 public interface ShopOrderRepository extends JpaRepository<ShopOrder, Long> {
-    List<ShopOrder> findByUserOrderByCreatedAtDesc(User user);
+
+    @Query("""
+        select new dev.tylerpac.backend.dto.ShopOrderResponse(o.id, o.productId, o.productName, o.amountCents, o.currency,
+            o.status, o.stripeCheckoutSessionId, o.stripePaymentIntentId, o.createdAt, o.updatedAt)
+        from ShopOrder o
+        where o.user.id = :userId
+        order by o.createdAt desc, o.id desc
+        """)
+    List<ShopOrderResponse> findOrderPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+        select new dev.tylerpac.backend.dto.ShopOrderResponse(o.id, o.productId, o.productName, o.amountCents, o.currency,
+            o.status, o.stripeCheckoutSessionId, o.stripePaymentIntentId, o.createdAt, o.updatedAt)
+        from ShopOrder o
+        where o.user.id = :userId
+            and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+        order by o.createdAt desc, o.id desc
+        """)
+    List<ShopOrderResponse> findOrderPageBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") Long id,
+        Limit limit
+    );
+
     Optional<ShopOrder> findByStripeCheckoutSessionId(String stripeCheckoutSessionId);
     Optional<ShopOrder> findByUserAndIdempotencyKey(User user, String idempotencyKey);
     Optional<ShopOrder> findByStripePaymentIntentId(String stripePaymentIntentId);
@@ -0,0 +1,40 @@
+package dev.tylerpac.backend.repo;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+public enum SqlDialect {
+    MYSQL,
+    H2;
+
+    public static SqlDialect detect(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if (product.contains("h2")) {
+                requireMySqlMode(connection);
+                return H2;
+            }
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                return MYSQL;
+            }
+            throw new IllegalStateException("Unsupported database for auth upserts: " + product);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Unable to detect database dialect", ex);
+        }
+    }
+
+    private static void requireMySqlMode(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'MODE'")) {
+            if (!rs.next() || !"MySQL".equalsIgnoreCase(rs.getString(1))) {
+                throw new IllegalStateException("H2 must run with MODE=MySQL for database-backed auth counters.");
+            }
+        }
+    }
+}
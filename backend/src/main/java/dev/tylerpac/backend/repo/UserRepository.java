@@ -1,11 +1,37 @@
 package dev.tylerpac.backend.repo;
 
 import dev.tylerpac.backend.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    List<RecipientView> findByEmailVerifiedTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<RecipientView> findByEmailVerifiedTrueAndStripeCustomerIdIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select u.orderVersion from User u where u.id = :id")
+    Optional<Long> findOrderVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.stripeCustomerId = :customerId where u.id = :id and u.stripeCustomerId is null")
+    int assignStripeCustomerId(@Param("id") Long id, @Param("customerId") String customerId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.orderVersion = u.orderVersion + 1 where u.id = :id")
+    int incrementOrderVersion(@Param("id") Long id);
+
+    interface RecipientView {
+        Long getId();
+        String getUsername();
+        String getEmail();
+    }
 }
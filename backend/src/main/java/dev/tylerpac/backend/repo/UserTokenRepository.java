@@ -1,9 +1,14 @@
 package dev.tylerpac.backend.repo;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.tylerpac.backend.model.User;
 import dev.tylerpac.backend.model.UserToken;
@@ -11,6 +16,12 @@ import dev.tylerpac.backend.model.UserTokenPurpose;
 
 public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
 
+    interface TokenHashView {
+        Long getId();
+
+        String getTokenHash();
+    }
+
     Optional<UserToken> findByTokenHashAndPurposeAndUsedAtIsNullAndExpiresAtAfter(
         String tokenHash,
         UserTokenPurpose purpose,
@@ -19,5 +30,39 @@ public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
 
     Optional<UserToken> findByTokenHashAndPurpose(String tokenHash, UserTokenPurpose purpose);
 
-    void deleteByUserAndPurpose(User user, UserTokenPurpose purpose);
-}
\ No newline at end of file
+    long countByPurpose(UserTokenPurpose purpose);
+
+    List<TokenHashView> findByPurposeAndIdGreaterThanOrderByIdAsc(UserTokenPurpose purpose, Long afterId, Limit limit);
+
+    @Query("select t from UserToken t join fetch t.user where t.tokenHash = :tokenHash and t.purpose = :purpose")
+    Optional<UserToken> findWithUserByTokenHashAndPurpose(
+        @Param("tokenHash") String tokenHash,
+        @Param("purpose") UserTokenPurpose purpose
+    );
+
+    @Modifying
+    @Query("""
+        update UserToken t set t.usedAt = :now
+        where t.tokenHash = :tokenHash and t.purpose = :purpose and t.usedAt is null and t.expiresAt > :now
+        """)
+    int markUsed(
+        @Param("tokenHash") String tokenHash,
+        @Param("purpose") UserTokenPurpose purpose,
+        @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("delete from UserToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from UserToken t where t.user = :user and t.purpose = :purpose")
+    int deleteByUserAndPurpose(@Param("user") User user, @Param("purpose") UserTokenPurpose purpose);
+
+    @Query("""
+        select t.id from UserToken t
+        where t.id > :afterId and (t.expiresAt < :cutoff or t.usedAt < :cutoff)
+        order by t.id
+        """)
+    List<Long> findIdsForPurge(@Param("afterId") long afterId, @Param("cutoff") Instant cutoff, Limit limit);
+}
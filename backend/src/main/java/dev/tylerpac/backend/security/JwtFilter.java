@@ -1,9 +1,11 @@
 package dev.tylerpac.backend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,17 +14,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final boolean statelessPrincipal;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtFilter(
+        JwtUtil jwtUtil,
+        UserDetailsService userDetailsService,
+        @Value("${app.security.jwt.stateless-principal:true}") boolean statelessPrincipal
+    ) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
@@ -30,10 +38,17 @@ public class JwtFilter extends OncePerRequestFilter {
         final String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            Optional<Claims> claims = jwtUtil.parseVerifiedClaims(token);
+            if (claims.isPresent()) {
+                Optional<AuthenticatedUser> principal = statelessPrincipal ? jwtUtil.toPrincipal(claims.get()) : Optional.empty();
+                UsernamePasswordAuthenticationToken auth;
+                if (principal.isPresent()) {
+                    AuthenticatedUser user = principal.get();
+                    auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                } else {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(claims.get().getSubject());
+                    auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                }
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
@@ -3,19 +3,32 @@ package dev.tylerpac.backend.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.stereotype.Component;
 
+import dev.tylerpac.backend.model.User;
+
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_AUTHORITIES = "auth";
+    static final String CLAIM_EMAIL_VERIFIED = "ev";
+
     private final Key key;
+    private final JwtParser parser;
+    private final VerifiedClaimsCache claimsCache;
 
     public JwtUtil(
         @Value("${SPRING_JWT_SECRET:}") String secret,
-        @Value("${app.security.allow-weak-jwt-secret:false}") boolean allowWeakJwtSecret
+        @Value("${app.security.allow-weak-jwt-secret:false}") boolean allowWeakJwtSecret,
+        @Value("${app.security.jwt.claims-cache-size:10000}") int claimsCacheSize
     ) {
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException("SPRING_JWT_SECRET is required.");
@@ -27,6 +40,8 @@ public class JwtUtil {
 
         byte[] keyBytes = secret.getBytes();
         this.key = Keys.hmacShaKeyFor(allowWeakJwtSecret ? padKey(keyBytes) : keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.claimsCache = new VerifiedClaimsCache(claimsCacheSize);
     }
 
     private byte[] padKey(byte[] orig) {
@@ -37,10 +52,13 @@ public class JwtUtil {
         return b;
     }
 
-    public String generateToken(String username, long ttlMs) {
+    public String generateToken(User user, long ttlMs) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_AUTHORITIES, AuthorityUtils.authorityListToSet(SecurityConfig.USER_AUTHORITIES))
+                .claim(CLAIM_EMAIL_VERIFIED, user.isEmailVerified())
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + ttlMs))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -52,15 +70,52 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
+        return parseVerifiedClaims(token).isPresent();
+    }
+
+    public Optional<Claims> parseVerifiedClaims(String token) {
         try {
-            parseClaims(token);
-            return true;
+            return Optional.of(parseClaims(token));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public long getClaimsCacheHits() {
+        return claimsCache.getHits();
+    }
+
+    public long getClaimsCacheMisses() {
+        return claimsCache.getMisses();
+    }
+
+    public int getClaimsCacheSize() {
+        return claimsCache.size();
+    }
+
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        long now = System.currentTimeMillis();
+        Claims cached = claimsCache.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(token, claims, now);
+        return claims;
+    }
+
+    public Optional<AuthenticatedUser> toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Object authorities = claims.get(CLAIM_AUTHORITIES);
+        Boolean emailVerified = claims.get(CLAIM_EMAIL_VERIFIED, Boolean.class);
+        if (userId == null || !(authorities instanceof List<?> authorityNames) || emailVerified == null) {
+            return Optional.empty();
+        }
+
+        List<GrantedAuthority> grantedAuthorities = AuthorityUtils.createAuthorityList(
+            authorityNames.stream().map(String::valueOf).toList()
+        );
+        return Optional.of(new AuthenticatedUser(userId.longValue(), claims.getSubject(), emailVerified, grantedAuthorities));
     }
 }
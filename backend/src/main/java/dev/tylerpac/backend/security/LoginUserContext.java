@@ -0,0 +1,33 @@
+package dev.tylerpac.backend.security;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import dev.tylerpac.backend.model.User;
+
+public final class LoginUserContext {
+
+    private static final ThreadLocal<Lookup> CURRENT = new ThreadLocal<>();
+
+    private LoginUserContext() {}
+
+    public static <T> T withLookup(String username, Optional<User> user, Supplier<T> action) {
+        CURRENT.set(new Lookup(username, user));
+        try {
+            return action.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    static Optional<Optional<User>> lookup(String username) {
+        Lookup lookup = CURRENT.get();
+        if (lookup == null || !lookup.username().equals(username)) {
+            return Optional.empty();
+        }
+        return Optional.of(lookup.user());
+    }
+
+    private record Lookup(String username, Optional<User> user) {
+    }
+}
@@ -0,0 +1,48 @@
+package dev.tylerpac.backend.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public final class PasswordWorkFactorCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordWorkFactorCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private PasswordWorkFactorCalibrator() {}
+
+    public static int calibrateBcrypt(Duration target, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode(SAMPLE_PASSWORD);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long nanos = medianEncodeNanos(new BCryptPasswordEncoder(strength));
+            log.info("BCrypt strength {} takes {} ms", strength, nanos / 1_000_000);
+            if (nanos > target.toNanos()) {
+                break;
+            }
+            chosen = strength;
+            if (nanos * 2 > target.toNanos()) {
+                break;
+            }
+        }
+
+        log.info("Using BCrypt strength {} for a {} ms hashing target", chosen, target.toMillis());
+        return chosen;
+    }
+
+    private static long medianEncodeNanos(BCryptPasswordEncoder encoder) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -1,8 +1,11 @@
 package dev.tylerpac.backend.security;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,9 +15,13 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -28,6 +35,8 @@ import dev.tylerpac.backend.repo.UserRepository;
 @Configuration
 public class SecurityConfig {
 
+    public static final List<GrantedAuthority> USER_AUTHORITIES = List.copyOf(AuthorityUtils.createAuthorityList("USER"));
+
     private final UserRepository userRepository;
 
     public SecurityConfig(UserRepository userRepository) {
@@ -37,26 +46,61 @@ public class SecurityConfig {
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
-            Optional<User> u = userRepository.findByUsername(username);
+            Optional<User> u = LoginUserContext.lookup(username)
+                .orElseGet(() -> userRepository.findByUsername(username));
             if (u.isEmpty()) throw new UsernameNotFoundException("User not found");
             User user = u.get();
             return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
                     .password(user.getPassword())
                     .disabled(!user.isEmailVerified())
-                    .authorities("USER")
+                    .authorities(USER_AUTHORITIES)
                     .build();
         };
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = LoginUserContext.lookup(userDetails.getUsername())
+                .orElseGet(() -> userRepository.findByUsername(userDetails.getUsername()))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            user.setPassword(newPassword);
+            userRepository.save(user);
+            return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+        };
+    }
+
+    @Bean
+    public BulkheadPasswordEncoder passwordEncoder(
+        @Value("${app.security.password-hashing.threads:0}") int threads,
+        @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+        @Value("${app.security.password-hashing.wait-timeout-ms:5000}") long waitTimeoutMs,
+        @Value("${app.security.password-hashing.bcrypt-strength:0}") int bcryptStrength,
+        @Value("${app.security.password-hashing.target-ms:250}") long targetMs,
+        @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+        @Value("${app.security.password-hashing.max-strength:14}") int maxStrength
+    ) {
+        int strength = bcryptStrength > 0
+            ? bcryptStrength
+            : PasswordWorkFactorCalibrator.calibrateBcrypt(Duration.ofMillis(targetMs), minStrength, maxStrength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+            "bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(strength))
+        );
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BulkheadPasswordEncoder(delegating, poolSize, queueCapacity, waitTimeoutMs);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService());
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService());
         return provider;
     }
 
@@ -66,16 +110,16 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, JwtFilter jwtFilter) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtFilter jwtFilter, AuthenticationProvider authenticationProvider) throws Exception {
         http
             .cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/actuator/**", "/shop/webhook", "/shop/products").permitAll()
+                .requestMatchers("/auth/**", "/actuator/**", "/shop/webhook", "/shop/products", "/admin/**").permitAll()
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
@@ -86,6 +130,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("X-Next-Cursor", "ETag"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,104 @@
+package dev.tylerpac.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.jsonwebtoken.Claims;
+
+class VerifiedClaimsCache {
+
+    private final int maxEntries;
+    private final Map<String, CachedClaims> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Claims get(String token, long nowMs) {
+        if (maxEntries <= 0) {
+            misses.increment();
+            return null;
+        }
+
+        String key = digest(token);
+        CachedClaims cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (nowMs >= cached.expiresAtMs()) {
+            entries.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached.claims();
+    }
+
+    void put(String token, Claims claims, long nowMs) {
+        Date expiration = claims.getExpiration();
+        if (maxEntries <= 0 || expiration == null || expiration.getTime() <= nowMs) {
+            return;
+        }
+
+        if (entries.size() >= maxEntries) {
+            evict(nowMs);
+        }
+        entries.put(digest(token), new CachedClaims(claims, expiration.getTime()));
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long nowMs) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            entries.values().removeIf(cached -> nowMs >= cached.expiresAtMs());
+
+            int overflow = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (overflow-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm unavailable", e);
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAtMs) {
+    }
+}
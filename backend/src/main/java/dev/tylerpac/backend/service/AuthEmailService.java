@@ -2,42 +2,45 @@ package dev.tylerpac.backend.service;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import dev.tylerpac.backend.service.email.EmailSender;
+import dev.tylerpac.backend.service.email.EmailTemplates;
+import dev.tylerpac.backend.service.email.EmailTemplates.RenderedEmail;
 
 @Service
 public class AuthEmailService {
 
-    private final EmailSender emailSender;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplates emailTemplates;
     private final String frontendBaseUrl;
 
-    public AuthEmailService(EmailSender emailSender, @Value("${app.auth.frontend-base-url}") String frontendBaseUrl) {
-        this.emailSender = emailSender;
+    public AuthEmailService(
+        EmailOutboxService emailOutboxService,
+        EmailTemplates emailTemplates,
+        @Value("${app.auth.frontend-base-url}") String frontendBaseUrl
+    ) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailTemplates = emailTemplates;
         this.frontendBaseUrl = frontendBaseUrl;
     }
 
     public void sendVerificationEmail(String toEmail, String username, String token) {
         String encodedToken = URLEncoder.encode(token, StandardCharsets.UTF_8);
         String verifyLink = frontendBaseUrl + "/verify-email?token=" + encodedToken;
-        String subject = "Verify your SolaceStudio account";
-        String body = "Hi " + username + ",\n\n"
-            + "Please verify your email by opening this link:\n"
-            + verifyLink + "\n\n"
-            + "If you did not sign up, you can ignore this email.";
-        emailSender.sendEmail(toEmail, subject, body);
+        send(toEmail, "verification", Map.of("username", username, "link", verifyLink));
     }
 
     public void sendPasswordResetEmail(String toEmail, String username, String token) {
         String encodedToken = URLEncoder.encode(token, StandardCharsets.UTF_8);
         String resetLink = frontendBaseUrl + "/reset-password?token=" + encodedToken;
-        String subject = "Reset your SolaceStudio password";
-        String body = "Hi " + username + ",\n\n"
-            + "We received a request to reset your password. Open this link:\n"
-            + resetLink + "\n\n"
-            + "If you did not request this, you can ignore this email.";
-        emailSender.sendEmail(toEmail, subject, body);
+        send(toEmail, "password-reset", Map.of("username", username, "link", resetLink));
     }
-}
\ No newline at end of file
+
+    private void send(String toEmail, String template, Map<String, ?> model) {
+        RenderedEmail email = emailTemplates.render(template, model);
+        emailOutboxService.enqueue(toEmail, email.subject(), email.textBody(), email.htmlBody());
+    }
+}
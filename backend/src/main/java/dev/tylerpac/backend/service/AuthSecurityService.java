@@ -2,17 +2,17 @@ package dev.tylerpac.backend.service;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Optional;
+
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import dev.tylerpac.backend.model.AuthLoginLock;
-import dev.tylerpac.backend.model.AuthRateLimitBucket;
 import dev.tylerpac.backend.repo.AuthLoginLockRepository;
 import dev.tylerpac.backend.repo.AuthRateLimitBucketRepository;
+import dev.tylerpac.backend.repo.SqlDialect;
 
 @Service
 public class AuthSecurityService {
@@ -20,120 +20,95 @@ public class AuthSecurityService {
     private final int maxRequestsPerMinute;
     private final int maxFailuresPerWindow;
     private final Duration lockDuration;
-    private final Duration failureWindowDuration = Duration.ofMinutes(15);
+    private final Duration failureWindowDuration;
 
     private final AuthRateLimitBucketRepository authRateLimitBucketRepository;
     private final AuthLoginLockRepository authLoginLockRepository;
+    private final IpRateLimiter ipRateLimiter;
+    private final LoginFailureTracker loginFailureTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final SqlDialect sqlDialect;
+    private final boolean databaseRateLimit;
+    private final boolean databaseBruteforce;
 
     public AuthSecurityService(
         AuthRateLimitBucketRepository authRateLimitBucketRepository,
         AuthLoginLockRepository authLoginLockRepository,
+        IpRateLimiter ipRateLimiter,
+        LoginFailureTracker loginFailureTracker,
+        PlatformTransactionManager transactionManager,
+        DataSource dataSource,
+        @Value("${app.auth.rate-limit.store:memory}") String rateLimitStore,
+        @Value("${app.auth.bruteforce.store:memory}") String bruteforceStore,
         @Value("${app.auth.rate-limit.max-requests-per-minute:60}") int maxRequestsPerMinute,
         @Value("${app.auth.bruteforce.max-failures:5}") int maxFailuresPerWindow,
-        @Value("${app.auth.bruteforce.lock-minutes:15}") long lockMinutes
+        @Value("${app.auth.bruteforce.lock-minutes:15}") long lockMinutes,
+        @Value("${app.auth.bruteforce.window-minutes:15}") long windowMinutes
     ) {
         this.authRateLimitBucketRepository = authRateLimitBucketRepository;
         this.authLoginLockRepository = authLoginLockRepository;
+        this.ipRateLimiter = ipRateLimiter;
+        this.loginFailureTracker = loginFailureTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseRateLimit = "database".equalsIgnoreCase(rateLimitStore);
+        this.databaseBruteforce = "database".equalsIgnoreCase(bruteforceStore);
+        this.sqlDialect = databaseBruteforce ? SqlDialect.detect(dataSource) : null;
         this.maxRequestsPerMinute = maxRequestsPerMinute;
         this.maxFailuresPerWindow = maxFailuresPerWindow;
         this.lockDuration = Duration.ofMinutes(lockMinutes);
+        this.failureWindowDuration = Duration.ofMinutes(windowMinutes);
     }
 
-    @Transactional
     public boolean isIpRateLimited(String ipAddress) {
-        Instant now = Instant.now();
-        Optional<AuthRateLimitBucket> bucketOpt = authRateLimitBucketRepository.findByIpAddress(ipAddress);
-
-        AuthRateLimitBucket bucket = bucketOpt.orElseGet(() -> {
-            AuthRateLimitBucket created = new AuthRateLimitBucket();
-            created.setIpAddress(ipAddress);
-            created.setWindowStart(now);
-            created.setRequestCount(0);
-            return created;
-        });
-
-        if (now.isAfter(bucket.getWindowStart().plus(Duration.ofMinutes(1)))) {
-            bucket.setWindowStart(now);
-            bucket.setRequestCount(0);
-        }
-
-        bucket.setRequestCount(bucket.getRequestCount() + 1);
-        try {
-            authRateLimitBucketRepository.save(bucket);
-        } catch (DataIntegrityViolationException ex) {
-            return isIpRateLimited(ipAddress);
+        if (!databaseRateLimit) {
+            return ipRateLimiter.isLimited(ipAddress);
         }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> isIpRateLimitedInDatabase(ipAddress)));
+    }
 
-        return bucket.getRequestCount() > maxRequestsPerMinute;
+    private boolean isIpRateLimitedInDatabase(String ipAddress) {
+        Instant now = Instant.now();
+        Instant windowFloor = now.minus(Duration.ofMinutes(1));
+        authRateLimitBucketRepository.increment(ipAddress, now, windowFloor);
+        int requestCount = authRateLimitBucketRepository.findRequestCountByIpAddress(ipAddress).orElse(0);
+        return requestCount > maxRequestsPerMinute;
     }
 
-    @Transactional
     public boolean isCredentialLocked(String username, String ipAddress) {
         String lockKey = compositeKey(username, ipAddress);
-        Optional<AuthLoginLock> lockOpt = authLoginLockRepository.findByLockKey(lockKey);
-        if (lockOpt.isEmpty()) {
-            return false;
-        }
-
-        AuthLoginLock lock = lockOpt.get();
-        if (lock.getLockedUntil() == null) {
-            return false;
-        }
-
-        Instant now = Instant.now();
-        if (now.isAfter(lock.getLockedUntil())) {
-            lock.setLockedUntil(null);
-            lock.setFailureCount(0);
-            lock.setWindowStart(now);
-            authLoginLockRepository.save(lock);
-            return false;
+        if (!databaseBruteforce) {
+            return loginFailureTracker.isLocked(lockKey);
         }
-
-        return true;
+        return authLoginLockRepository.existsByLockKeyAndLockedUntilAfter(lockKey, Instant.now());
     }
 
-    @Transactional
     public void recordAuthFailure(String username, String ipAddress) {
-        Instant now = Instant.now();
         String lockKey = compositeKey(username, ipAddress);
-        Optional<AuthLoginLock> lockOpt = authLoginLockRepository.findByLockKey(lockKey);
-
-        AuthLoginLock lock = lockOpt.orElseGet(() -> {
-            AuthLoginLock created = new AuthLoginLock();
-            created.setLockKey(lockKey);
-            created.setWindowStart(now);
-            created.setFailureCount(0);
-            created.setLockedUntil(null);
-            return created;
-        });
-
-        if (lock.getLockedUntil() != null && now.isBefore(lock.getLockedUntil())) {
+        if (!databaseBruteforce) {
+            loginFailureTracker.recordFailure(lockKey);
             return;
         }
+        transactionTemplate.executeWithoutResult(status -> recordAuthFailureInDatabase(lockKey));
+    }
 
-        if (now.isAfter(lock.getWindowStart().plus(failureWindowDuration))) {
-            lock.setWindowStart(now);
-            lock.setFailureCount(0);
-            lock.setLockedUntil(null);
-        }
-
-        int failures = lock.getFailureCount() + 1;
-        lock.setFailureCount(failures);
-        if (failures >= maxFailuresPerWindow) {
-            lock.setLockedUntil(now.plus(lockDuration));
-            lock.setFailureCount(0);
-        }
-
-        try {
-            authLoginLockRepository.save(lock);
-        } catch (DataIntegrityViolationException ex) {
-            recordAuthFailure(username, ipAddress);
+    private void recordAuthFailureInDatabase(String lockKey) {
+        Instant now = Instant.now();
+        Instant windowFloor = now.minus(failureWindowDuration);
+        Instant lockedUntil = now.plus(lockDuration);
+        if (sqlDialect == SqlDialect.MYSQL) {
+            authLoginLockRepository.recordFailureMySql(lockKey, now, windowFloor, lockedUntil, maxFailuresPerWindow);
+        } else {
+            authLoginLockRepository.recordFailureH2(lockKey, now, windowFloor, lockedUntil, maxFailuresPerWindow);
         }
     }
 
-    @Transactional
     public void recordAuthSuccess(String username, String ipAddress) {
-        authLoginLockRepository.deleteByLockKey(compositeKey(username, ipAddress));
+        String lockKey = compositeKey(username, ipAddress);
+        if (!databaseBruteforce) {
+            loginFailureTracker.recordSuccess(lockKey);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> authLoginLockRepository.deleteByLockKey(lockKey));
     }
 
     private String compositeKey(String username, String ipAddress) {
@@ -0,0 +1,15 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+
+public interface CatalogSource {
+
+    List<ShopProductResponse> fetchProducts();
+
+    boolean needsRefresh(Duration age);
+
+    String describe();
+}
@@ -0,0 +1,91 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.tylerpac.backend.dto.CreateCheckoutSessionResponse;
+
+@Component
+public class CheckoutReplayCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CheckoutReplayCache(
+        @Value("${app.shop.checkout-replay-cache-seconds:300}") long ttlSeconds,
+        @Value("${app.shop.checkout-replay-cache-max-entries:10000}") int maxEntries
+    ) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<CreateCheckoutSessionResponse> get(String scopedIdempotencyKey) {
+        Entry entry = entries.get(scopedIdempotencyKey);
+        if (entry == null || !entry.expiresAt().isAfter(Instant.now())) {
+            if (entry != null) {
+                entries.remove(scopedIdempotencyKey, entry);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.response());
+    }
+
+    public void put(String scopedIdempotencyKey, CreateCheckoutSessionResponse response, Instant sessionExpiresAt) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        if (sessionExpiresAt != null && sessionExpiresAt.isBefore(expiresAt)) {
+            expiresAt = sessionExpiresAt;
+        }
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(scopedIdempotencyKey)) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(scopedIdempotencyKey, new Entry(response, expiresAt));
+    }
+
+    public void invalidate(String scopedIdempotencyKey) {
+        entries.remove(scopedIdempotencyKey);
+    }
+
+    @Scheduled(fixedDelayString = "${app.shop.checkout-replay-cache-sweep-ms:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    private record Entry(CreateCheckoutSessionResponse response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,200 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+
+@Component
+public class CheckoutSessionPool {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxPerUser;
+    private final int maxEntries;
+    private final Map<Key, PrefetchedSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> perUser = new ConcurrentHashMap<>();
+    private final List<PrefetchedSession> discarded = new ArrayList<>();
+    private final LongAdder prefetched = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder wasted = new LongAdder();
+
+    public CheckoutSessionPool(
+        @Value("${app.shop.checkout-prefetch.enabled:false}") boolean enabled,
+        @Value("${app.shop.checkout-prefetch.ttl-seconds:600}") long ttlSeconds,
+        @Value("${app.shop.checkout-prefetch.max-per-user:3}") int maxPerUser,
+        @Value("${app.shop.checkout-prefetch.max-entries:10000}") int maxEntries
+    ) {
+        this.enabled = enabled && ttlSeconds > 0;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxPerUser = maxPerUser;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean wants(Long userId, ShopProductResponse product) {
+        if (!enabled) {
+            return false;
+        }
+        PrefetchedSession existing = sessions.get(new Key(userId, product.getId()));
+        if (existing != null) {
+            return !existing.isFresh(Instant.now()) || !existing.matches(product);
+        }
+        return sessions.size() < maxEntries && userCount(userId) < maxPerUser;
+    }
+
+    public boolean offer(Long userId, ShopProductResponse product, String sessionId, String url, Instant sessionExpiresAt) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        if (sessionExpiresAt != null && sessionExpiresAt.isBefore(expiresAt)) {
+            expiresAt = sessionExpiresAt;
+        }
+        PrefetchedSession session = new PrefetchedSession(userId, product.getId(), sessionId, url, sessionExpiresAt,
+            expiresAt, product.getAmountCents(), product.getCurrency(), product.getPriceId());
+        Key key = new Key(userId, product.getId());
+
+        synchronized (this) {
+            PrefetchedSession previous = sessions.get(key);
+            if (previous == null && (sessions.size() >= maxEntries || userCount(userId) >= maxPerUser)) {
+                discard(session);
+                return false;
+            }
+            sessions.put(key, session);
+            if (previous == null) {
+                perUser.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+            } else {
+                discard(previous);
+            }
+        }
+        prefetched.increment();
+        return true;
+    }
+
+    public Optional<PrefetchedSession> claim(Long userId, ShopProductResponse product) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        PrefetchedSession session;
+        synchronized (this) {
+            session = sessions.remove(new Key(userId, product.getId()));
+            if (session != null) {
+                release(userId);
+            }
+        }
+        if (session == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (!session.isFresh(Instant.now()) || !session.matches(product)) {
+            synchronized (this) {
+                discard(session);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(session);
+    }
+
+    public synchronized void abandon(PrefetchedSession session) {
+        discard(session);
+    }
+
+    public synchronized void requeue(List<PrefetchedSession> unexpired) {
+        discarded.addAll(unexpired);
+    }
+
+    public synchronized List<PrefetchedSession> drainExpired() {
+        Instant now = Instant.now();
+        Iterator<Map.Entry<Key, PrefetchedSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, PrefetchedSession> entry = iterator.next();
+            if (!entry.getValue().isFresh(now)) {
+                iterator.remove();
+                release(entry.getKey().userId());
+                discard(entry.getValue());
+            }
+        }
+        List<PrefetchedSession> drained = new ArrayList<>(discarded);
+        discarded.clear();
+        return drained;
+    }
+
+    public long getPrefetchedCount() {
+        return prefetched.sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getWastedCount() {
+        return wasted.sum();
+    }
+
+    public double getHitRate() {
+        long claimed = hits.sum();
+        long total = claimed + misses.sum();
+        return total == 0 ? 0 : (double) claimed / total;
+    }
+
+    public int getSize() {
+        return sessions.size();
+    }
+
+    private int userCount(Long userId) {
+        AtomicInteger count = perUser.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    private void release(Long userId) {
+        perUser.computeIfPresent(userId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private void discard(PrefetchedSession session) {
+        wasted.increment();
+        discarded.add(session);
+    }
+
+    public record PrefetchedSession(
+        Long userId,
+        String productId,
+        String sessionId,
+        String url,
+        Instant sessionExpiresAt,
+        Instant poolExpiresAt,
+        long amountCents,
+        String currency,
+        String priceId
+    ) {
+
+        boolean isFresh(Instant now) {
+            return poolExpiresAt.isAfter(now);
+        }
+
+        boolean matches(ShopProductResponse product) {
+            return amountCents == product.getAmountCents()
+                && Objects.equals(currency, product.getCurrency())
+                && Objects.equals(priceId, product.getPriceId());
+        }
+    }
+
+    private record Key(Long userId, String productId) {
+    }
+}
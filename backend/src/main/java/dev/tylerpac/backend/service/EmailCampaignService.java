@@ -0,0 +1,242 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.model.EmailCampaign;
+import dev.tylerpac.backend.model.EmailCampaignStatus;
+import dev.tylerpac.backend.repo.EmailCampaignRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.repo.UserRepository.RecipientView;
+import dev.tylerpac.backend.service.email.EmailSender;
+import dev.tylerpac.backend.service.email.SendRateLimiter;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class EmailCampaignService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailCampaignService.class);
+
+    private final EmailCampaignRepository emailCampaignRepository;
+    private final UserRepository userRepository;
+    private final EmailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService coordinator;
+    private final ExecutorService senders;
+    private volatile SendRateLimiter rateLimiter;
+    private final int batchSize;
+    private final Set<Long> pauseRequested = ConcurrentHashMap.newKeySet();
+    private final Set<Long> active = ConcurrentHashMap.newKeySet();
+    private volatile BatchMetrics lastBatch;
+
+    public EmailCampaignService(
+        EmailCampaignRepository emailCampaignRepository,
+        UserRepository userRepository,
+        EmailSender emailSender,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.email.campaign.batch-size:500}") int batchSize,
+        @Value("${app.email.campaign.threads:8}") int threads,
+        @Value("${app.email.campaign.max-send-rate:0}") double maxSendRate
+    ) {
+        this.emailCampaignRepository = emailCampaignRepository;
+        this.userRepository = userRepository;
+        this.emailSender = emailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "email-campaign"));
+        AtomicInteger sequence = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(threads,
+            runnable -> daemon(runnable, "email-campaign-send-" + sequence.incrementAndGet()));
+        this.rateLimiter = maxSendRate > 0 ? new SendRateLimiter(maxSendRate) : null;
+    }
+
+    public EmailCampaign create(String name, String subject, String body) {
+        return emailCampaignRepository.save(new EmailCampaign(name, subject, body));
+    }
+
+    public Optional<EmailCampaign> find(Long campaignId) {
+        return emailCampaignRepository.findById(campaignId);
+    }
+
+    public void start(Long campaignId) {
+        pauseRequested.remove(campaignId);
+        coordinator.execute(() -> run(campaignId));
+    }
+
+    public void pause(Long campaignId) {
+        pauseRequested.add(campaignId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (EmailCampaign campaign : emailCampaignRepository.findByStatus(EmailCampaignStatus.RUNNING)) {
+            log.info("Resuming campaign {} after user {}", campaign.getName(), campaign.getLastUserId());
+            start(campaign.getId());
+        }
+    }
+
+    public void run(Long campaignId) {
+        if (!active.add(campaignId)) {
+            return;
+        }
+        try {
+            EmailCampaign campaign = emailCampaignRepository.findById(campaignId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown campaign " + campaignId));
+            if (campaign.getStatus() == EmailCampaignStatus.COMPLETED) {
+                return;
+            }
+            updateCampaign(campaignId, c -> c.setStatus(EmailCampaignStatus.RUNNING));
+            SendRateLimiter limiter = rateLimiter();
+
+            long afterId = campaign.getLastUserId();
+            while (true) {
+                if (pauseRequested.remove(campaignId)) {
+                    updateCampaign(campaignId, c -> c.setStatus(EmailCampaignStatus.PAUSED));
+                    log.info("Campaign {} paused after user {}", campaign.getName(), afterId);
+                    return;
+                }
+
+                List<RecipientView> batch = userRepository
+                    .findByEmailVerifiedTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    updateCampaign(campaignId, c -> {
+                        c.setStatus(EmailCampaignStatus.COMPLETED);
+                        c.setCompletedAt(Instant.now());
+                    });
+                    log.info("Campaign {} completed", campaign.getName());
+                    return;
+                }
+
+                BatchMetrics metrics = sendBatch(campaign, batch, limiter);
+                long checkpoint = batch.get(batch.size() - 1).getId();
+                updateCampaign(campaignId, c -> {
+                    c.setLastUserId(checkpoint);
+                    c.setSentCount(c.getSentCount() + metrics.sent());
+                    c.setFailedCount(c.getFailedCount() + metrics.failed());
+                });
+                afterId = checkpoint;
+                lastBatch = metrics;
+                log.info("Campaign {} batch up to user {}: {} sent, {} failed in {} ms ({} msg/s)", campaign.getName(),
+                    checkpoint, metrics.sent(), metrics.failed(), metrics.elapsedMs(),
+                    String.format("%.1f", metrics.messagesPerSecond()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Campaign {} interrupted; it resumes from its last checkpoint", campaignId);
+        } catch (RuntimeException ex) {
+            log.error("Campaign {} stopped; it resumes from its last checkpoint", campaignId, ex);
+        } finally {
+            active.remove(campaignId);
+        }
+    }
+
+    public BatchMetrics getLastBatch() {
+        return lastBatch;
+    }
+
+    public double getSendRate() {
+        SendRateLimiter limiter = rateLimiter;
+        return limiter == null ? 0 : limiter.getPermitsPerSecond();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private BatchMetrics sendBatch(EmailCampaign campaign, List<RecipientView> batch, SendRateLimiter limiter)
+        throws InterruptedException {
+        long started = System.nanoTime();
+        List<Future<Boolean>> results = new ArrayList<>(batch.size());
+        for (RecipientView recipient : batch) {
+            limiter.acquire();
+            results.add(senders.submit(() -> send(campaign, recipient)));
+        }
+
+        int sent = 0;
+        int failed = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (result.get()) {
+                    sent++;
+                } else {
+                    failed++;
+                }
+            } catch (ExecutionException ex) {
+                failed++;
+            }
+        }
+        return new BatchMetrics(batch.size(), sent, failed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private boolean send(EmailCampaign campaign, RecipientView recipient) {
+        try {
+            String body = campaign.getBody().replace("{{username}}", recipient.getUsername());
+            emailSender.sendEmail(recipient.getEmail(), campaign.getSubject(), body);
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Campaign {} send to user {} failed: {}", campaign.getName(), recipient.getId(), ex.getMessage());
+            return false;
+        }
+    }
+
+    private void updateCampaign(Long campaignId, Consumer<EmailCampaign> change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailCampaign campaign = emailCampaignRepository.findById(campaignId).orElseThrow();
+            change.accept(campaign);
+        });
+    }
+
+    private SendRateLimiter rateLimiter() {
+        SendRateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            return limiter;
+        }
+        try {
+            double accountRate = emailSender.maxSendRate();
+            if (accountRate > 0) {
+                limiter = new SendRateLimiter(accountRate);
+                rateLimiter = limiter;
+                return limiter;
+            }
+            log.warn("Provider reported no send rate; this run sends at 1 msg/s");
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the provider send rate; this run sends at 1 msg/s and the next run retries", ex);
+        }
+        return new SendRateLimiter(1.0);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    public record BatchMetrics(int recipients, int sent, int failed, long elapsedMs) {
+
+        public double messagesPerSecond() {
+            return elapsedMs == 0 ? sent : sent * 1000.0 / elapsedMs;
+        }
+    }
+}
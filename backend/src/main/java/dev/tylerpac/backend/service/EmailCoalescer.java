@@ -0,0 +1,140 @@
+package dev.tylerpac.backend.service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class EmailCoalescer {
+
+    public enum MessageType {
+        VERIFICATION,
+        PASSWORD_RESET,
+        ORDER_PENDING,
+        ORDER_PAID,
+        ORDER_FAILED
+    }
+
+    private final long windowNanos;
+    private final int maxTrackedKeys;
+    private final Map<String, Long> windows = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final Map<MessageType, LongAdder> sent = new EnumMap<>(MessageType.class);
+    private final Map<MessageType, LongAdder> suppressed = new EnumMap<>(MessageType.class);
+    private final LongAdder untracked = new LongAdder();
+
+    public EmailCoalescer(
+        @Value("${app.email.coalesce.window-seconds:300}") long windowSeconds,
+        @Value("${app.email.coalesce.max-tracked-keys:100000}") int maxTrackedKeys
+    ) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        this.maxTrackedKeys = maxTrackedKeys;
+        for (MessageType type : MessageType.values()) {
+            sent.put(type, new LongAdder());
+            suppressed.put(type, new LongAdder());
+        }
+    }
+
+    public boolean tryAcquire(String recipient, MessageType type) {
+        return tryAcquire(recipient, type, null);
+    }
+
+    public boolean tryAcquire(String recipient, MessageType type, Object discriminator) {
+        if (windowNanos <= 0) {
+            sent.get(type).increment();
+            return true;
+        }
+
+        long now = System.nanoTime();
+        String key = type.name() + ':' + recipient.toLowerCase(Locale.ROOT)
+            + (discriminator == null ? "" : ":" + discriminator);
+        if (windows.size() >= maxTrackedKeys && !windows.containsKey(key) && !makeRoom(now)) {
+            untracked.increment();
+            sent.get(type).increment();
+            return true;
+        }
+
+        long windowEnd = now + windowNanos;
+        boolean[] acquired = new boolean[1];
+        windows.compute(key, (ignored, until) -> {
+            if (until != null && until - now > 0) {
+                return until;
+            }
+            acquired[0] = true;
+            return windowEnd;
+        });
+
+        if (!acquired[0]) {
+            suppressed.get(type).increment();
+            return false;
+        }
+        sent.get(type).increment();
+        releaseOnRollback(key, windowEnd);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.coalesce.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        sweepLock.lock();
+        try {
+            sweep(System.nanoTime());
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public long getSentCount(MessageType type) {
+        return sent.get(type).sum();
+    }
+
+    public long getSuppressedCount(MessageType type) {
+        return suppressed.get(type).sum();
+    }
+
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    public int getTrackedKeys() {
+        return windows.size();
+    }
+
+    private void releaseOnRollback(String key, long windowEnd) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    windows.remove(key, windowEnd);
+                }
+            }
+        });
+    }
+
+    private boolean makeRoom(long now) {
+        if (sweepLock.tryLock()) {
+            try {
+                sweep(now);
+            } finally {
+                sweepLock.unlock();
+            }
+        }
+        return windows.size() < maxTrackedKeys;
+    }
+
+    private void sweep(long now) {
+        windows.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+}
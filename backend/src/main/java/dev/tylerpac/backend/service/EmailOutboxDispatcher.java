@@ -0,0 +1,236 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.model.EmailOutboxMessage;
+import dev.tylerpac.backend.model.EmailOutboxStatus;
+import dev.tylerpac.backend.repo.EmailOutboxRepository;
+import dev.tylerpac.backend.service.email.EmailSender;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final Set<EmailOutboxStatus> CLAIMABLE = EnumSet.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.SENDING);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService poller;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public EmailOutboxDispatcher(
+        EmailOutboxRepository emailOutboxRepository,
+        EmailSender emailSender,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.email.outbox.enabled:true}") boolean enabled,
+        @Value("${app.email.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+        @Value("${app.email.outbox.threads:4}") int threads,
+        @Value("${app.email.outbox.queue-capacity:100}") int queueCapacity,
+        @Value("${app.email.outbox.batch-size:50}") int batchSize,
+        @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+        @Value("${app.email.outbox.lease-seconds:120}") long leaseSeconds,
+        @Value("${app.email.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+        @Value("${app.email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailSender = emailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.workers = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new OutboxThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        if (enabled) {
+            poller.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+
+        int capacity;
+        while ((capacity = Math.min(batchSize, workers.getQueue().remainingCapacity())) > 0) {
+            List<EmailOutboxMessage> claimed = claim(capacity);
+            for (EmailOutboxMessage message : claimed) {
+                try {
+                    workers.execute(() -> deliver(message));
+                } catch (RejectedExecutionException ex) {
+                    // Left in SENDING; picked up again once the lease runs out.
+                    return;
+                }
+            }
+            if (claimed.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    public long getDeadLetteredCount() {
+        return deadLettered.sum();
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        poller.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        try {
+            dispatch();
+        } catch (RuntimeException ex) {
+            log.warn("Email outbox poll failed; retrying in {} ms", pollIntervalMs, ex);
+        }
+    }
+
+    private List<EmailOutboxMessage> claim(int limit) {
+        Instant now = Instant.now();
+        String claimToken = UUID.randomUUID().toString();
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = emailOutboxRepository.findDueIds(CLAIMABLE, now, Limit.of(limit));
+            if (ids.isEmpty()) {
+                return List.<EmailOutboxMessage>of();
+            }
+            emailOutboxRepository.claim(ids, CLAIMABLE, EmailOutboxStatus.SENDING, claimToken, now, now.plus(lease));
+            return emailOutboxRepository.findByClaimToken(claimToken);
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void deliver(EmailOutboxMessage message) {
+        if (message.getAttempts() > maxAttempts) {
+            deadLetter(message, "lease expired after final attempt");
+            return;
+        }
+
+        try {
+            if (message.getHtmlBody() == null) {
+                emailSender.sendEmail(message.getRecipient(), message.getSubject(), message.getBody());
+            } else {
+                emailSender.sendEmail(message.getRecipient(), message.getSubject(), message.getBody(),
+                    message.getHtmlBody());
+            }
+        } catch (RuntimeException ex) {
+            if (message.getAttempts() >= maxAttempts) {
+                deadLetter(message, describe(ex));
+            } else {
+                Instant retryAt = Instant.now().plus(backoff(message.getAttempts()));
+                complete(message, EmailOutboxStatus.PENDING, retryAt, null, describe(ex));
+                retried.increment();
+                log.warn("Email {} to {} failed (attempt {}), retrying at {}", message.getId(),
+                    message.getRecipient(), message.getAttempts(), retryAt, ex);
+            }
+            return;
+        }
+
+        Instant now = Instant.now();
+        complete(message, EmailOutboxStatus.SENT, now, now, null);
+        sent.increment();
+    }
+
+    private void deadLetter(EmailOutboxMessage message, String error) {
+        complete(message, EmailOutboxStatus.DEAD, Instant.now(), null, error);
+        deadLettered.increment();
+        log.error("Email {} to {} dead-lettered after {} attempts: {}", message.getId(), message.getRecipient(),
+            message.getAttempts(), error);
+    }
+
+    private void complete(EmailOutboxMessage message, EmailOutboxStatus status, Instant nextAttemptAt,
+                          Instant sentAt, String error) {
+        transactionTemplate.executeWithoutResult(tx -> emailOutboxRepository.complete(
+            message.getId(), message.getClaimToken(), status, nextAttemptAt, sentAt, error));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String describe(RuntimeException ex) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private static final class OutboxThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "email-outbox-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.tylerpac.backend.model.EmailOutboxMessage;
+import dev.tylerpac.backend.repo.EmailOutboxRepository;
+
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
+    }
+
+    @Transactional
+    public void enqueue(String to, String subject, String textBody) {
+        enqueue(to, subject, textBody, null);
+    }
+
+    @Transactional
+    public void enqueue(String to, String subject, String textBody, String htmlBody) {
+        emailOutboxRepository.save(new EmailOutboxMessage(to, subject, textBody, htmlBody, Instant.now()));
+    }
+}
@@ -0,0 +1,166 @@
+package dev.tylerpac.backend.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IpRateLimiter {
+
+    private static final int MAX_EVICTIONS_PER_INSERT = 16;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final int maxTrackedKeys;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Queue<TrackedBucket> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public IpRateLimiter(
+        @Value("${app.auth.rate-limit.max-requests-per-minute:60}") int maxRequestsPerMinute,
+        @Value("${app.auth.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys
+    ) {
+        this.capacity = maxRequestsPerMinute;
+        this.refillPerNano = maxRequestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public boolean isLimited(String key) {
+        long now = System.nanoTime();
+        while (true) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxTrackedKeys && !evictOldest()) {
+                    untracked.increment();
+                    limited.increment();
+                    return true;
+                }
+                Bucket created = new Bucket(capacity, now);
+                bucket = buckets.putIfAbsent(key, created);
+                if (bucket == null) {
+                    bucket = created;
+                    insertionOrder.add(new TrackedBucket(key, created));
+                }
+            }
+
+            Boolean granted = bucket.tryConsume(now, capacity, refillPerNano);
+            if (granted == null) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+
+            if (granted) {
+                allowed.increment();
+                return false;
+            }
+            limited.increment();
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Bucket>> iterator = buckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Bucket> entry = iterator.next();
+            if (entry.getValue().retireIfFull(now, capacity, refillPerNano)) {
+                iterator.remove();
+            }
+        }
+        insertionOrder.removeIf(tracked -> buckets.get(tracked.key()) != tracked.bucket());
+    }
+
+    public int getTrackedKeys() {
+        return buckets.size();
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getLimitedCount() {
+        return limited.sum();
+    }
+
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    private boolean evictOldest() {
+        for (int i = 0; i < MAX_EVICTIONS_PER_INSERT && buckets.size() >= maxTrackedKeys; i++) {
+            TrackedBucket oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            oldest.bucket().retire();
+            if (buckets.remove(oldest.key(), oldest.bucket())) {
+                evicted.increment();
+            }
+        }
+        return buckets.size() < maxTrackedKeys;
+    }
+
+    private record TrackedBucket(String key, Bucket bucket) {
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+        private boolean retired;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private synchronized Boolean tryConsume(long now, double capacity, double refillPerNano) {
+            if (retired) {
+                return null;
+            }
+
+            refill(now, capacity, refillPerNano);
+            if (tokens < 1.0) {
+                return false;
+            }
+            tokens -= 1.0;
+            return true;
+        }
+
+        private synchronized void retire() {
+            retired = true;
+        }
+
+        private synchronized boolean retireIfFull(long now, double capacity, double refillPerNano) {
+            refill(now, capacity, refillPerNano);
+            if (tokens >= capacity) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private void refill(long now, double capacity, double refillPerNano) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.tylerpac.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+public class LocalCatalogSource implements CatalogSource {
+
+    private static final String BUNDLED_CATALOG = "shop-catalog.json";
+
+    private final JsonMapper jsonMapper;
+    private final Path catalogFile;
+    private volatile long loadedModified;
+
+    public LocalCatalogSource(JsonMapper jsonMapper, Path catalogFile) {
+        this.jsonMapper = jsonMapper;
+        this.catalogFile = catalogFile;
+    }
+
+    @Override
+    public List<ShopProductResponse> fetchProducts() {
+        try {
+            if (catalogFile != null) {
+                long modified = lastModified();
+                List<ShopProductResponse> products = parse(Files.readAllBytes(catalogFile));
+                loadedModified = modified;
+                return products;
+            }
+            try (InputStream in = LocalCatalogSource.class.getClassLoader().getResourceAsStream(BUNDLED_CATALOG)) {
+                if (in == null) {
+                    throw new IllegalStateException("Bundled " + BUNDLED_CATALOG + " is missing");
+                }
+                return parse(in.readAllBytes());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read shop catalog", ex);
+        }
+    }
+
+    @Override
+    public boolean needsRefresh(Duration age) {
+        return catalogFile != null && lastModified() != loadedModified;
+    }
+
+    @Override
+    public String describe() {
+        return catalogFile != null ? catalogFile.toString() : "classpath:" + BUNDLED_CATALOG;
+    }
+
+    private List<ShopProductResponse> parse(byte[] content) {
+        return Arrays.asList(jsonMapper.readValue(content, ShopProductResponse[].class));
+    }
+
+    private long lastModified() {
+        try {
+            return Files.getLastModifiedTime(catalogFile).toMillis();
+        } catch (IOException ex) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.model.AuthLoginLock;
+import dev.tylerpac.backend.repo.AuthLoginLockRepository;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class LoginFailureTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginFailureTracker.class);
+    private static final int MAX_EVICTIONS_PER_INSERT = 16;
+
+    private final AuthLoginLockRepository authLoginLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFailuresPerWindow;
+    private final Duration lockDuration;
+    private final Duration failureWindowDuration;
+    private final int maxTrackedKeys;
+    private final int flushBatchSize;
+    private final Map<String, FailureState> states = new ConcurrentHashMap<>();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final Queue<TrackedState> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder untracked = new LongAdder();
+
+    public LoginFailureTracker(
+        AuthLoginLockRepository authLoginLockRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.auth.bruteforce.max-failures:5}") int maxFailuresPerWindow,
+        @Value("${app.auth.bruteforce.lock-minutes:15}") long lockMinutes,
+        @Value("${app.auth.bruteforce.window-minutes:15}") long windowMinutes,
+        @Value("${app.auth.bruteforce.max-tracked-keys:100000}") int maxTrackedKeys,
+        @Value("${app.auth.bruteforce.flush-batch-size:200}") int flushBatchSize
+    ) {
+        this.authLoginLockRepository = authLoginLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxFailuresPerWindow = maxFailuresPerWindow;
+        this.lockDuration = Duration.ofMinutes(lockMinutes);
+        this.failureWindowDuration = Duration.ofMinutes(windowMinutes);
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public boolean isLocked(String lockKey) {
+        FailureState state = states.get(lockKey);
+        return state != null && state.isLocked(Instant.now());
+    }
+
+    public void recordFailure(String lockKey) {
+        Instant now = Instant.now();
+        FailureState state = states.get(lockKey);
+        if (state == null) {
+            if (states.size() >= maxTrackedKeys && !evictOldest(now)) {
+                untracked.increment();
+                return;
+            }
+            state = track(lockKey, new FailureState());
+        }
+
+        if (state.recordFailure(now, maxFailuresPerWindow, failureWindowDuration, lockDuration)) {
+            dirtyKeys.add(lockKey);
+        }
+    }
+
+    public void recordSuccess(String lockKey) {
+        FailureState removed = states.remove(lockKey);
+        if (removed != null && removed.isPersisted()) {
+            dirtyKeys.add(lockKey);
+        }
+    }
+
+    public int getTrackedKeys() {
+        return states.size();
+    }
+
+    public int getPendingWrites() {
+        return dirtyKeys.size();
+    }
+
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveLocks() {
+        Instant now = Instant.now();
+        List<AuthLoginLock> activeLocks = authLoginLockRepository.findByLockedUntilAfter(now);
+        for (AuthLoginLock lock : activeLocks) {
+            track(lock.getLockKey(), FailureState.restored(lock.getLockedUntil()));
+        }
+        log.info("Restored {} active login locks", activeLocks.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.bruteforce.flush-interval-ms:5000}")
+    public void flush() {
+        while (!dirtyKeys.isEmpty()) {
+            List<String> batch = new ArrayList<>(flushBatchSize);
+            Iterator<String> iterator = dirtyKeys.iterator();
+            while (iterator.hasNext() && batch.size() < flushBatchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+            } catch (RuntimeException ex) {
+                dirtyKeys.addAll(batch);
+                log.warn("Failed to persist {} login lock states; will retry", batch.size(), ex);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.bruteforce.sweep-interval-ms:60000}")
+    public void evictStale() {
+        Instant now = Instant.now();
+        states.forEach((lockKey, state) -> {
+            if (state.isStale(now, failureWindowDuration) && states.remove(lockKey, state) && state.isPersisted()) {
+                dirtyKeys.add(lockKey);
+            }
+        });
+        insertionOrder.removeIf(tracked -> states.get(tracked.lockKey()) != tracked.state());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private FailureState track(String lockKey, FailureState created) {
+        FailureState existing = states.putIfAbsent(lockKey, created);
+        if (existing != null) {
+            return existing;
+        }
+        insertionOrder.add(new TrackedState(lockKey, created));
+        return created;
+    }
+
+    private boolean evictOldest(Instant now) {
+        for (int i = 0; i < MAX_EVICTIONS_PER_INSERT && states.size() >= maxTrackedKeys; i++) {
+            TrackedState oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            if (states.get(oldest.lockKey()) != oldest.state()) {
+                continue;
+            }
+            if (oldest.state().isLocked(now)) {
+                insertionOrder.add(oldest);
+                continue;
+            }
+            if (states.remove(oldest.lockKey(), oldest.state()) && oldest.state().isPersisted()) {
+                dirtyKeys.add(oldest.lockKey());
+            }
+        }
+        return states.size() < maxTrackedKeys;
+    }
+
+    private void writeBatch(List<String> lockKeys) {
+        Map<String, AuthLoginLock> existing = authLoginLockRepository.findByLockKeyIn(lockKeys).stream()
+            .collect(Collectors.toMap(AuthLoginLock::getLockKey, Function.identity()));
+
+        List<AuthLoginLock> toSave = new ArrayList<>();
+        List<String> toDelete = new ArrayList<>();
+        for (String lockKey : lockKeys) {
+            FailureState state = states.get(lockKey);
+            Instant lockedUntil = state == null ? null : state.lockedUntilForPersistence();
+            if (lockedUntil == null) {
+                if (existing.containsKey(lockKey)) {
+                    toDelete.add(lockKey);
+                }
+                continue;
+            }
+
+            AuthLoginLock lock = existing.get(lockKey);
+            if (lock == null) {
+                lock = new AuthLoginLock();
+                lock.setLockKey(lockKey);
+            }
+            lock.setWindowStart(lockedUntil.minus(lockDuration));
+            lock.setFailureCount(0);
+            lock.setLockedUntil(lockedUntil);
+            toSave.add(lock);
+        }
+
+        authLoginLockRepository.saveAll(toSave);
+        if (!toDelete.isEmpty()) {
+            authLoginLockRepository.deleteByLockKeyIn(toDelete);
+        }
+    }
+
+    private record TrackedState(String lockKey, FailureState state) {
+    }
+
+    private static final class FailureState {
+
+        private final Deque<Instant> failures = new ArrayDeque<>();
+        private Instant lockedUntil;
+        private boolean persisted;
+
+        private static FailureState restored(Instant lockedUntil) {
+            FailureState state = new FailureState();
+            state.lockedUntil = lockedUntil;
+            state.persisted = true;
+            return state;
+        }
+
+        private synchronized boolean isLocked(Instant now) {
+            return lockedUntil != null && now.isBefore(lockedUntil);
+        }
+
+        private synchronized boolean recordFailure(Instant now, int maxFailures, Duration window, Duration lockDuration) {
+            if (isLocked(now)) {
+                return false;
+            }
+
+            boolean hadLock = lockedUntil != null;
+            lockedUntil = null;
+            Instant windowStart = now.minus(window);
+            while (!failures.isEmpty() && failures.peekFirst().isBefore(windowStart)) {
+                failures.pollFirst();
+            }
+
+            failures.addLast(now);
+            if (failures.size() >= maxFailures) {
+                failures.clear();
+                lockedUntil = now.plus(lockDuration);
+                persisted = true;
+                return true;
+            }
+            return hadLock;
+        }
+
+        private synchronized boolean isStale(Instant now, Duration window) {
+            if (isLocked(now)) {
+                return false;
+            }
+            Instant latestFailure = failures.peekLast();
+            return latestFailure == null || latestFailure.isBefore(now.minus(window));
+        }
+
+        private synchronized boolean isPersisted() {
+            return persisted;
+        }
+
+        private synchronized Instant lockedUntilForPersistence() {
+            return lockedUntil;
+        }
+    }
+}
@@ -1,48 +1,58 @@
 package dev.tylerpac.backend.service;
 
+import java.util.Map;
+
 import org.springframework.stereotype.Service;
 
 import dev.tylerpac.backend.model.ShopOrder;
 import dev.tylerpac.backend.model.User;
-import dev.tylerpac.backend.service.email.EmailSender;
+import dev.tylerpac.backend.service.email.EmailTemplates;
+import dev.tylerpac.backend.service.email.EmailTemplates.RenderedEmail;
 
 @Service
 public class PurchaseEmailService {
 
-    private final EmailSender emailSender;
-
-    public PurchaseEmailService(EmailSender emailSender) {
-        this.emailSender = emailSender;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailCoalescer emailCoalescer;
+    private final EmailTemplates emailTemplates;
+
+    public PurchaseEmailService(
+        EmailOutboxService emailOutboxService,
+        EmailCoalescer emailCoalescer,
+        EmailTemplates emailTemplates
+    ) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailCoalescer = emailCoalescer;
+        this.emailTemplates = emailTemplates;
     }
 
     public void sendOrderPending(User user, ShopOrder order) {
-        String subject = "SolaceStudio purchase received: pending";
-        String body = "Hi " + user.getUsername() + ",\n\n"
-            + "We received your order for " + order.getProductName() + ".\n"
-            + "Order status: PENDING\n"
-            + "Order id: " + order.getId() + "\n\n"
-            + "We will email you again when payment is confirmed.";
-        emailSender.sendEmail(user.getEmail(), subject, body);
+        if (!emailCoalescer.tryAcquire(user.getEmail(), EmailCoalescer.MessageType.ORDER_PENDING, order.getId())) {
+            return;
+        }
+        send(user, order, "order-pending");
     }
 
     public void sendOrderPaid(User user, ShopOrder order) {
-        String subject = "SolaceStudio purchase confirmed";
-        String body = "Hi " + user.getUsername() + ",\n\n"
-            + "Payment was confirmed for your order.\n"
-            + "Product: " + order.getProductName() + "\n"
-            + "Order id: " + order.getId() + "\n"
-            + "Status: PAID\n\n"
-            + "Thank you for your purchase!";
-        emailSender.sendEmail(user.getEmail(), subject, body);
+        if (!emailCoalescer.tryAcquire(user.getEmail(), EmailCoalescer.MessageType.ORDER_PAID, order.getId())) {
+            return;
+        }
+        send(user, order, "order-paid");
     }
 
     public void sendOrderFailed(User user, ShopOrder order) {
-        String subject = "SolaceStudio purchase failed";
-        String body = "Hi " + user.getUsername() + ",\n\n"
-            + "Your payment for " + order.getProductName() + " did not complete.\n"
-            + "Order id: " + order.getId() + "\n"
-            + "Status: FAILED\n\n"
-            + "You can try checkout again from the shop.";
-        emailSender.sendEmail(user.getEmail(), subject, body);
+        if (!emailCoalescer.tryAcquire(user.getEmail(), EmailCoalescer.MessageType.ORDER_FAILED, order.getId())) {
+            return;
+        }
+        send(user, order, "order-failed");
+    }
+
+    private void send(User user, ShopOrder order, String template) {
+        RenderedEmail email = emailTemplates.render(template, Map.of(
+            "username", user.getUsername(),
+            "productName", order.getProductName(),
+            "orderId", order.getId()
+        ));
+        emailOutboxService.enqueue(user.getEmail(), email.subject(), email.textBody(), email.htmlBody());
     }
 }
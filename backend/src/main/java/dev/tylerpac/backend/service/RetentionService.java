@@ -0,0 +1,185 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.repo.AuthLoginLockRepository;
+import dev.tylerpac.backend.repo.AuthRateLimitBucketRepository;
+import dev.tylerpac.backend.repo.EmailOutboxRepository;
+import dev.tylerpac.backend.repo.ProcessedStripeEventRepository;
+import dev.tylerpac.backend.repo.UserTokenRepository;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class RetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionService.class);
+
+    private final List<RetentionPolicy> policies = new ArrayList<>();
+    private final Map<String, PurgeResult> lastResults = new ConcurrentHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService purger;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final Duration maxRunDuration;
+
+    public RetentionService(
+        AuthRateLimitBucketRepository authRateLimitBucketRepository,
+        AuthLoginLockRepository authLoginLockRepository,
+        UserTokenRepository userTokenRepository,
+        ProcessedStripeEventRepository processedStripeEventRepository,
+        EmailOutboxRepository emailOutboxRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.retention.enabled:true}") boolean enabled,
+        @Value("${app.retention.chunk-size:500}") int chunkSize,
+        @Value("${app.retention.pause-ms:100}") long pauseMs,
+        @Value("${app.retention.max-run-seconds:60}") long maxRunSeconds,
+        @Value("${app.retention.rate-limit-buckets-hours:1}") long rateLimitBucketHours,
+        @Value("${app.retention.login-locks-hours:24}") long loginLockHours,
+        @Value("${app.retention.user-tokens-days:7}") long userTokenDays,
+        @Value("${app.retention.stripe-events-days:30}") long stripeEventDays,
+        @Value("${app.retention.sent-emails-days:14}") long sentEmailDays
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxRunDuration = Duration.ofSeconds(maxRunSeconds);
+        this.purger = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        policies.add(new RetentionPolicy("auth_rate_limit_buckets", Duration.ofHours(rateLimitBucketHours),
+            authRateLimitBucketRepository::findIdsForPurge, authRateLimitBucketRepository));
+        policies.add(new RetentionPolicy("auth_login_locks", Duration.ofHours(loginLockHours),
+            authLoginLockRepository::findIdsForPurge, authLoginLockRepository));
+        policies.add(new RetentionPolicy("user_tokens", Duration.ofDays(userTokenDays),
+            userTokenRepository::findIdsForPurge, userTokenRepository));
+        policies.add(new RetentionPolicy("processed_stripe_events", Duration.ofDays(stripeEventDays),
+            processedStripeEventRepository::findIdsForPurge, processedStripeEventRepository));
+        policies.add(new RetentionPolicy("email_outbox", Duration.ofDays(sentEmailDays),
+            emailOutboxRepository::findIdsForPurge, emailOutboxRepository));
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.retention.initial-delay-ms:60000}",
+        fixedDelayString = "${app.retention.interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        purger.execute(() -> {
+            try {
+                purgeAll();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    public Map<String, PurgeResult> getLastResults() {
+        return Map.copyOf(lastResults);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    private void purgeAll() {
+        Instant deadline = Instant.now().plus(maxRunDuration);
+        for (RetentionPolicy policy : policies) {
+            PurgeResult result = purge(policy, deadline);
+            lastResults.put(policy.table(), result);
+            log.info("Retention purged {} rows from {} in {} ms{}", result.rowsPurged(), policy.table(),
+                result.elapsedMs(), result.complete() ? "" : " (stopped at run budget)");
+        }
+    }
+
+    private PurgeResult purge(RetentionPolicy policy, Instant deadline) {
+        long started = System.nanoTime();
+        Instant cutoff = Instant.now().minus(policy.ttl());
+        long afterId = 0L;
+        long purged = 0L;
+        boolean complete = false;
+
+        while (Instant.now().isBefore(deadline)) {
+            long cursor = afterId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = policy.idSelector().findIdsForPurge(cursor, cutoff, Limit.of(chunkSize));
+                if (!chunk.isEmpty()) {
+                    policy.repository().deleteAllByIdInBatch(chunk);
+                }
+                return chunk;
+            });
+
+            if (ids == null || ids.isEmpty()) {
+                complete = true;
+                break;
+            }
+
+            purged += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                complete = true;
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        return new PurgeResult(purged, Duration.ofNanos(System.nanoTime() - started).toMillis(), complete);
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PurgeIdSelector {
+        List<Long> findIdsForPurge(long afterId, Instant cutoff, Limit limit);
+    }
+
+    private record RetentionPolicy(
+        String table,
+        Duration ttl,
+        PurgeIdSelector idSelector,
+        JpaRepository<?, Long> repository
+    ) {
+    }
+
+    public record PurgeResult(long rowsPurged, long elapsedMs, boolean complete) {
+    }
+}
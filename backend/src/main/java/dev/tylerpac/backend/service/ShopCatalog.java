@@ -0,0 +1,104 @@
+package dev.tylerpac.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+
+public final class ShopCatalog {
+
+    private final List<ShopProductResponse> products;
+    private final Map<String, ShopProductResponse> productsById;
+    private final byte[] json;
+    private final byte[] gzippedJson;
+    private final String etag;
+    private final String gzipEtag;
+
+    private ShopCatalog(List<ShopProductResponse> products, byte[] json) {
+        Map<String, ShopProductResponse> byId = new LinkedHashMap<>();
+        for (ShopProductResponse product : products) {
+            if (byId.putIfAbsent(product.getId(), product) != null) {
+                throw new IllegalArgumentException("Duplicate product id " + product.getId());
+            }
+        }
+        this.products = List.copyOf(products);
+        this.productsById = Map.copyOf(byId);
+        this.json = json;
+        this.gzippedJson = gzip(json);
+        String digest = digest(json);
+        this.etag = "\"" + digest + "\"";
+        this.gzipEtag = "\"" + digest + "-gz\"";
+    }
+
+    public static ShopCatalog of(List<ShopProductResponse> products, byte[] json) {
+        return new ShopCatalog(products, json);
+    }
+
+    public List<ShopProductResponse> getProducts() {
+        return products;
+    }
+
+    public Optional<ShopProductResponse> find(String productId) {
+        return Optional.ofNullable(productId == null ? null : productsById.get(productId));
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzippedJson() {
+        return gzippedJson;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getGzipEtag() {
+        return gzipEtag;
+    }
+
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.json.JsonMapper;
+
+@Service
+public class ShopCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShopCatalogService.class);
+
+    private final CatalogSource catalogSource;
+    private final JsonMapper jsonMapper;
+    private final String currency;
+    private final ExecutorService refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private volatile ShopCatalog current;
+    private volatile long loadedAtNanos;
+    private volatile boolean staleRequested;
+
+    public ShopCatalogService(
+        CatalogSource catalogSource,
+        JsonMapper jsonMapper,
+        @Value("${app.shop.currency:usd}") String currency
+    ) {
+        this.catalogSource = catalogSource;
+        this.jsonMapper = jsonMapper;
+        this.currency = currency;
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shop-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.loadedAtNanos = System.nanoTime();
+        try {
+            this.current = build(catalogSource.fetchProducts());
+        } catch (RuntimeException ex) {
+            log.error("Starting with an empty shop catalog; {} could not be loaded", catalogSource.describe(), ex);
+            this.current = build(List.of());
+            this.staleRequested = true;
+        }
+    }
+
+    public ShopCatalog current() {
+        return current;
+    }
+
+    public void markStale() {
+        staleRequested = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.shop.catalog-reload-interval-ms:5000}")
+    public void refreshAhead() {
+        Duration age = Duration.ofNanos(System.nanoTime() - loadedAtNanos);
+        if (!staleRequested && !catalogSource.needsRefresh(age)) {
+            return;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        staleRequested = false;
+        try {
+            refresher.execute(this::refresh);
+        } catch (RejectedExecutionException ex) {
+            refreshing.set(false);
+        }
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    void refresh() {
+        try {
+            ShopCatalog next = build(catalogSource.fetchProducts());
+            loadedAtNanos = System.nanoTime();
+            refreshes.increment();
+            if (!next.getEtag().equals(current.getEtag())) {
+                current = next;
+                log.info("Refreshed shop catalog from {} ({} products)", catalogSource.describe(), next.getProducts().size());
+            }
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            log.error("Keeping previous shop catalog; {} could not be loaded", catalogSource.describe(), ex);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private ShopCatalog build(List<ShopProductResponse> fetched) {
+        List<ShopProductResponse> products = new ArrayList<>(fetched.size());
+        for (ShopProductResponse product : fetched) {
+            if (!StringUtils.hasText(product.getId()) || !StringUtils.hasText(product.getName())
+                || product.getAmountCents() <= 0) {
+                throw new IllegalArgumentException("Catalog entries need an id, a name and a positive amountCents");
+            }
+            if (!StringUtils.hasText(product.getCurrency())) {
+                product.setCurrency(currency);
+            }
+            products.add(product);
+        }
+        return ShopCatalog.of(products, jsonMapper.writeValueAsBytes(products));
+    }
+}
@@ -16,4 +16,9 @@ public class ShopReconciliationService {
     public void reconcilePendingOrders() {
         stripeShopService.reconcilePendingOrders();
     }
+
+    @Scheduled(fixedDelayString = "${app.shop.checkout-prefetch.sweep-ms:60000}")
+    public void expirePrefetchedSessions() {
+        stripeShopService.expirePrefetchedSessions();
+    }
 }
@@ -0,0 +1,80 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Price;
+import com.stripe.model.Product;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PriceListParams;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+
+public class StripeCatalogSource implements CatalogSource {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeCatalogSource.class);
+
+    private final RequestOptions requestOptions;
+    private final String currency;
+    private final Duration refreshAfter;
+
+    public StripeCatalogSource(String secretKey, String currency, Duration refreshAfter) {
+        this.requestOptions = RequestOptions.builder().setApiKey(secretKey).build();
+        this.currency = currency;
+        this.refreshAfter = refreshAfter;
+    }
+
+    @Override
+    public List<ShopProductResponse> fetchProducts() {
+        PriceListParams params = PriceListParams.builder()
+            .setActive(true)
+            .setType(PriceListParams.Type.ONE_TIME)
+            .setCurrency(currency)
+            .addExpand("data.product")
+            .setLimit(100L)
+            .build();
+
+        List<ShopProductResponse> products = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        try {
+            for (Price price : Price.list(params, requestOptions).autoPagingIterable()) {
+                Product product = price.getProductObject();
+                if (product == null || !Boolean.TRUE.equals(product.getActive()) || price.getUnitAmount() == null) {
+                    continue;
+                }
+                String id = StringUtils.hasText(price.getLookupKey()) ? price.getLookupKey() : product.getId();
+                if (!seen.add(id)) {
+                    log.warn("Ignoring price {}; catalog product {} already has an active price", price.getId(), id);
+                    continue;
+                }
+                ShopProductResponse response = new ShopProductResponse(id, product.getName(), product.getDescription(),
+                    price.getUnitAmount(), price.getCurrency());
+                response.setPriceId(price.getId());
+                products.add(response);
+            }
+        } catch (StripeException ex) {
+            throw new IllegalStateException("Could not list Stripe prices", ex);
+        }
+        products.sort(Comparator.comparingLong(ShopProductResponse::getAmountCents).thenComparing(ShopProductResponse::getId));
+        return products;
+    }
+
+    @Override
+    public boolean needsRefresh(Duration age) {
+        return age.compareTo(refreshAfter) >= 0;
+    }
+
+    @Override
+    public String describe() {
+        return "Stripe prices (" + currency + ")";
+    }
+}
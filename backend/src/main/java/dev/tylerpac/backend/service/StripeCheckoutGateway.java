@@ -0,0 +1,26 @@
+package dev.tylerpac.backend.service;
+
+import java.util.List;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.checkout.SessionCreateParams;
+
+public interface StripeCheckoutGateway {
+
+    Session createSession(SessionCreateParams params, RequestOptions requestOptions) throws StripeException;
+
+    Session retrieveSession(String sessionId) throws StripeException;
+
+    Session expireSession(String sessionId) throws StripeException;
+
+    List<Session> findSessions(String customerId, long createdAfterEpochSecond) throws StripeException;
+
+    PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException;
+
+    Customer createCustomer(CustomerCreateParams params, RequestOptions requestOptions) throws StripeException;
+}
@@ -0,0 +1,197 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stripe.exception.AuthenticationException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.repo.UserRepository.RecipientView;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class StripeCustomerProvisioner {
+
+    private static final Logger log = LoggerFactory.getLogger(StripeCustomerProvisioner.class);
+
+    private final StripeShopService stripeShopService;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final int backfillBatchSize;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retries;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder provisioned = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public StripeCustomerProvisioner(
+        StripeShopService stripeShopService,
+        UserRepository userRepository,
+        @Value("${app.shop.customer-provisioning.enabled:true}") boolean enabled,
+        @Value("${app.shop.customer-provisioning.threads:2}") int threads,
+        @Value("${app.shop.customer-provisioning.queue-capacity:1000}") int queueCapacity,
+        @Value("${app.shop.customer-provisioning.max-attempts:5}") int maxAttempts,
+        @Value("${app.shop.customer-provisioning.retry-backoff-ms:2000}") long retryBackoffMs,
+        @Value("${app.shop.customer-provisioning.backfill-batch-size:200}") int backfillBatchSize
+    ) {
+        this.stripeShopService = stripeShopService;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = Duration.ofMillis(Math.max(0, retryBackoffMs));
+        this.backfillBatchSize = backfillBatchSize;
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> daemon(runnable, "stripe-customer-" + sequence.incrementAndGet()));
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "stripe-customer-retry"));
+    }
+
+    public void enqueue(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitNew(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submitNew(userId);
+            }
+        });
+    }
+
+    @Scheduled(
+        initialDelayString = "${app.shop.customer-provisioning.backfill-initial-delay-ms:60000}",
+        fixedDelayString = "${app.shop.customer-provisioning.backfill-interval-ms:3600000}"
+    )
+    public int backfill() {
+        if (!enabled) {
+            return 0;
+        }
+        int queued = 0;
+        long afterId = 0;
+        while (true) {
+            List<RecipientView> batch = userRepository
+                .findByEmailVerifiedTrueAndStripeCustomerIdIsNullAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(backfillBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (RecipientView user : batch) {
+                if (workers.getQueue().remainingCapacity() == 0) {
+                    log.info("Stripe customer backfill queued {} users; queue full at user {}, resuming next run",
+                        queued, user.getId());
+                    return queued;
+                }
+                if (submitNew(user.getId())) {
+                    queued++;
+                }
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        if (queued > 0) {
+            log.info("Stripe customer backfill queued {} users", queued);
+        }
+        return queued;
+    }
+
+    public long getProvisionedCount() {
+        return provisioned.sum();
+    }
+
+    public long getRetryCount() {
+        return retried.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retries.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private boolean submitNew(Long userId) {
+        return pending.add(userId) && submit(userId, 1);
+    }
+
+    private boolean submit(Long userId, int attempt) {
+        try {
+            workers.execute(() -> provision(userId, attempt));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            pending.remove(userId);
+            rejected.increment();
+            log.debug("Stripe customer queue full; user {} is left for the backfill", userId);
+            return false;
+        }
+    }
+
+    private void provision(Long userId, int attempt) {
+        try {
+            if (stripeShopService.provisionCustomer(userId)) {
+                provisioned.increment();
+            }
+            pending.remove(userId);
+        } catch (StripeException | RuntimeException ex) {
+            boolean permanent = ex instanceof InvalidRequestException || ex instanceof AuthenticationException;
+            if (permanent || attempt >= maxAttempts) {
+                pending.remove(userId);
+                failed.increment();
+                log.warn("Stripe customer provisioning for user {} failed after {} attempt(s): {}", userId, attempt,
+                    ex.getMessage());
+                return;
+            }
+            retried.increment();
+            long delayMs = retryBackoff.toMillis() << Math.min(attempt - 1, 10);
+            try {
+                retries.schedule(() -> submit(userId, attempt + 1), delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejectedEx) {
+                pending.remove(userId);
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
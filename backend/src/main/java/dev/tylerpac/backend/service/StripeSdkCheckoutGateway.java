@@ -0,0 +1,58 @@
+package dev.tylerpac.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+
+@Component
+public class StripeSdkCheckoutGateway implements StripeCheckoutGateway {
+
+    @Override
+    public Session createSession(SessionCreateParams params, RequestOptions requestOptions) throws StripeException {
+        return Session.create(params, requestOptions);
+    }
+
+    @Override
+    public Session retrieveSession(String sessionId) throws StripeException {
+        return Session.retrieve(sessionId);
+    }
+
+    @Override
+    public Session expireSession(String sessionId) throws StripeException {
+        Session session = new Session();
+        session.setId(sessionId);
+        return session.expire();
+    }
+
+    @Override
+    public List<Session> findSessions(String customerId, long createdAfterEpochSecond) throws StripeException {
+        SessionListParams params = SessionListParams.builder()
+            .setCustomer(customerId)
+            .setCreated(SessionListParams.Created.builder().setGte(createdAfterEpochSecond).build())
+            .setLimit(100L)
+            .build();
+        List<Session> sessions = new ArrayList<>();
+        Session.list(params).autoPagingIterable().forEach(sessions::add);
+        return sessions;
+    }
+
+    @Override
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
+        return PaymentIntent.retrieve(paymentIntentId);
+    }
+
+    @Override
+    public Customer createCustomer(CustomerCreateParams params, RequestOptions requestOptions) throws StripeException {
+        return Customer.create(params, requestOptions);
+    }
+}
@@ -1,16 +1,24 @@
 package dev.tylerpac.backend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedHashMap;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import com.stripe.Stripe;
@@ -29,6 +37,7 @@ import com.stripe.param.CustomerCreateParams;
 import com.stripe.param.checkout.SessionCreateParams;
 
 import dev.tylerpac.backend.dto.CreateCheckoutSessionResponse;
+import dev.tylerpac.backend.dto.ShopOrderPage;
 import dev.tylerpac.backend.dto.ShopOrderResponse;
 import dev.tylerpac.backend.dto.ShopProductResponse;
 import dev.tylerpac.backend.model.ProcessedStripeEvent;
@@ -37,10 +46,13 @@ import dev.tylerpac.backend.model.User;
 import dev.tylerpac.backend.repo.ProcessedStripeEventRepository;
 import dev.tylerpac.backend.repo.ShopOrderRepository;
 import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.service.CheckoutSessionPool.PrefetchedSession;
 
 @Service
 public class StripeShopService {
 
+    private static final Logger log = LoggerFactory.getLogger(StripeShopService.class);
+
     private static final String STATUS_PENDING = "PENDING";
     private static final String STATUS_PAID = "PAID";
     private static final String STATUS_FAILED = "FAILED";
@@ -50,30 +62,60 @@ public class StripeShopService {
     private final ProcessedStripeEventRepository processedStripeEventRepository;
     private final PurchaseEmailService purchaseEmailService;
     private final UserRepository userRepository;
-    private final String currency;
+    private final ShopCatalogService shopCatalogService;
+    private final StripeCheckoutGateway checkoutGateway;
+    private final CheckoutReplayCache checkoutReplayCache;
+    private final CheckoutSessionPool checkoutSessionPool;
+    private final SingleFlight<String, CreateCheckoutSessionResponse> checkoutFlights = new SingleFlight<>();
+    private final SingleFlight<Long, String> customerFlights = new SingleFlight<>();
+    private final SingleFlight<String, Boolean> prefetchFlights = new SingleFlight<>();
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
     private final String successUrl;
     private final String cancelUrl;
     private final String webhookSecret;
+    private final int defaultOrderPageSize;
+    private final int maxOrderPageSize;
+    private final Duration checkoutRecoveryGrace;
+    private final Duration maxJobRunDuration;
 
     public StripeShopService(
         ShopOrderRepository shopOrderRepository,
         ProcessedStripeEventRepository processedStripeEventRepository,
         PurchaseEmailService purchaseEmailService,
         UserRepository userRepository,
-        @Value("${app.shop.currency:usd}") String currency,
+        ShopCatalogService shopCatalogService,
+        StripeCheckoutGateway checkoutGateway,
+        CheckoutReplayCache checkoutReplayCache,
+        CheckoutSessionPool checkoutSessionPool,
+        PlatformTransactionManager transactionManager,
         @Value("${app.shop.success-url}") String successUrl,
         @Value("${app.shop.cancel-url}") String cancelUrl,
         @Value("${app.stripe.secret-key:}") String stripeSecretKey,
-        @Value("${app.stripe.webhook-secret:}") String webhookSecret
+        @Value("${app.stripe.webhook-secret:}") String webhookSecret,
+        @Value("${app.shop.orders.page-size:20}") int defaultOrderPageSize,
+        @Value("${app.shop.orders.max-page-size:100}") int maxOrderPageSize,
+        @Value("${app.shop.checkout-recovery-grace-seconds:900}") long checkoutRecoveryGraceSeconds,
+        @Value("${app.shop.max-job-run-seconds:30}") long maxJobRunSeconds
     ) {
         this.shopOrderRepository = shopOrderRepository;
         this.processedStripeEventRepository = processedStripeEventRepository;
         this.purchaseEmailService = purchaseEmailService;
         this.userRepository = userRepository;
-        this.currency = currency;
+        this.shopCatalogService = shopCatalogService;
+        this.checkoutGateway = checkoutGateway;
+        this.checkoutReplayCache = checkoutReplayCache;
+        this.checkoutSessionPool = checkoutSessionPool;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
         this.successUrl = successUrl;
         this.cancelUrl = cancelUrl;
         this.webhookSecret = webhookSecret;
+        this.defaultOrderPageSize = defaultOrderPageSize;
+        this.maxOrderPageSize = maxOrderPageSize;
+        this.checkoutRecoveryGrace = Duration.ofSeconds(checkoutRecoveryGraceSeconds);
+        this.maxJobRunDuration = Duration.ofSeconds(maxJobRunSeconds);
 
         if (!StringUtils.hasText(stripeSecretKey)) {
             throw new IllegalStateException("Stripe secret key is missing. Set APP_STRIPE_SECRET_KEY.");
@@ -81,85 +123,91 @@ public class StripeShopService {
         Stripe.apiKey = stripeSecretKey;
     }
 
-    public List<ShopProductResponse> getProducts() {
-        return List.copyOf(catalog().values());
-    }
+    public CreateCheckoutSessionResponse createCheckoutSession(Long userId, String productId, String idempotencyKey) throws StripeException {
+        shopCatalogService.current().find(productId)
+            .orElseThrow(() -> new IllegalArgumentException("invalid_product"));
 
-    @Transactional
-    public CreateCheckoutSessionResponse createCheckoutSession(User user, String productId, String idempotencyKey) throws StripeException {
-        ShopProductResponse product = catalog().get(productId);
-        if (product == null) {
-            throw new IllegalArgumentException("invalid_product");
-        }
-
-        String scopedIdempotencyKey = normalizeIdempotencyKey(user, idempotencyKey);
-        if (StringUtils.hasText(scopedIdempotencyKey)) {
-            Optional<ShopOrder> existingOrder = shopOrderRepository.findByUserAndIdempotencyKey(user, scopedIdempotencyKey);
-            if (existingOrder.isPresent()) {
-                ShopOrder order = existingOrder.get();
-                Session existingSession = Session.retrieve(order.getStripeCheckoutSessionId());
-                return new CreateCheckoutSessionResponse(existingSession.getUrl(), existingSession.getId());
+        String scopedIdempotencyKey = normalizeIdempotencyKey(userId, idempotencyKey);
+        if (scopedIdempotencyKey != null) {
+            Optional<CreateCheckoutSessionResponse> cached = checkoutReplayCache.get(scopedIdempotencyKey);
+            if (cached.isPresent()) {
+                return cached.get();
             }
         }
 
-        String customerId = ensureStripeCustomer(user);
-
-        SessionCreateParams.LineItem.PriceData.ProductData productData =
-            SessionCreateParams.LineItem.PriceData.ProductData.builder()
-                .setName(product.getName())
-                .setDescription(product.getDescription())
-                .build();
+        String flightKey = scopedIdempotencyKey != null ? scopedIdempotencyKey : "checkout:" + userId + ":product:" + productId;
+        return checkoutFlights.execute(flightKey, () -> checkout(userId, productId, scopedIdempotencyKey));
+    }
 
-        SessionCreateParams.LineItem.PriceData priceData = SessionCreateParams.LineItem.PriceData.builder()
-            .setCurrency(product.getCurrency())
-            .setUnitAmount(product.getAmountCents())
-            .setProductData(productData)
-            .build();
+    public boolean prefetchCheckoutSession(Long userId, String productId) throws StripeException {
+        ShopProductResponse product = shopCatalogService.current().find(productId)
+            .orElseThrow(() -> new IllegalArgumentException("invalid_product"));
+        if (!checkoutSessionPool.wants(userId, product)) {
+            return false;
+        }
+        return prefetchFlights.execute("prefetch:" + userId + ":" + productId, () -> prefetch(userId, product));
+    }
 
-        SessionCreateParams params = SessionCreateParams.builder()
-            .setMode(SessionCreateParams.Mode.PAYMENT)
-            .setCustomer(customerId)
-            .setSuccessUrl(successUrl + "?checkout=success&session_id={CHECKOUT_SESSION_ID}")
-            .setCancelUrl(cancelUrl + "?checkout=cancel")
-            .setClientReferenceId(String.valueOf(user.getId()))
-            .putMetadata("userId", String.valueOf(user.getId()))
-            .putMetadata("productId", product.getId())
-            .putMetadata("productName", product.getName())
-            .addLineItem(
-                SessionCreateParams.LineItem.builder()
-                    .setQuantity(1L)
-                    .setPriceData(priceData)
-                    .build()
-            )
-            .build();
+    public int expirePrefetchedSessions() {
+        List<PrefetchedSession> unused = checkoutSessionPool.drainExpired();
+        Instant deadline = Instant.now().plus(maxJobRunDuration);
+        int expired = 0;
+        for (int i = 0; i < unused.size(); i++) {
+            if (!Instant.now().isBefore(deadline)) {
+                checkoutSessionPool.requeue(unused.subList(i, unused.size()));
+                break;
+            }
+            PrefetchedSession session = unused.get(i);
+            try {
+                checkoutGateway.expireSession(session.sessionId());
+                expired++;
+            } catch (StripeException ex) {
+                log.debug("Could not expire prefetched checkout session {}: {}", session.sessionId(), ex.getMessage());
+            }
+        }
+        if (!unused.isEmpty()) {
+            log.info("Expired {} of {} unused prefetched checkout sessions", expired, unused.size());
+        }
+        return expired;
+    }
 
-        RequestOptions requestOptions = RequestOptions.builder()
-            .setIdempotencyKey(StringUtils.hasText(scopedIdempotencyKey) ? scopedIdempotencyKey : UUID.randomUUID().toString())
-            .build();
+    public boolean provisionCustomer(Long userId) throws StripeException {
+        User user = readOnlyTransactionTemplate.execute(status -> userRepository.findById(userId).orElse(null));
+        if (user == null || !user.isEmailVerified() || StringUtils.hasText(user.getStripeCustomerId())) {
+            return false;
+        }
+        ensureStripeCustomer(user.getId(), user.getEmail(), user.getUsername(), null);
+        return true;
+    }
 
-        Session session = Session.create(params, requestOptions);
-
-        ShopOrder order = new ShopOrder();
-        order.setUser(user);
-        order.setProductId(product.getId());
-        order.setProductName(product.getName());
-        order.setAmountCents(product.getAmountCents());
-        order.setCurrency(product.getCurrency());
-        order.setStatus(STATUS_PENDING);
-        order.setStripeCheckoutSessionId(session.getId());
-        order.setStripePaymentIntentId(session.getPaymentIntent());
-        order.setIdempotencyKey(scopedIdempotencyKey);
-        shopOrderRepository.save(order);
-        purchaseEmailService.sendOrderPending(user, order);
+    public long getSharedCheckoutCount() {
+        return checkoutFlights.getSharedCount();
+    }
 
-        return new CreateCheckoutSessionResponse(session.getUrl(), session.getId());
+    @Transactional(readOnly = true)
+    public long getOrderVersion(Long userId) {
+        return userRepository.findOrderVersionById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("unauthorized"));
     }
 
     @Transactional(readOnly = true)
-    public List<ShopOrderResponse> getOrders(User user) {
-        return shopOrderRepository.findByUserOrderByCreatedAtDesc(user).stream()
-            .map(this::toResponse)
-            .toList();
+    public ShopOrderPage getOrders(Long userId, String cursor, Integer requestedLimit) {
+        int limit = requestedLimit == null ? defaultOrderPageSize : Math.max(1, Math.min(requestedLimit, maxOrderPageSize));
+        Limit fetch = Limit.of(limit + 1);
+        List<ShopOrderResponse> orders;
+        if (StringUtils.hasText(cursor)) {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = shopOrderRepository.findOrderPageBefore(userId, after.createdAt(), after.id(), fetch);
+        } else {
+            orders = shopOrderRepository.findOrderPage(userId, fetch);
+        }
+
+        if (orders.size() <= limit) {
+            return new ShopOrderPage(orders, null);
+        }
+        List<ShopOrderResponse> page = orders.subList(0, limit);
+        ShopOrderResponse last = page.get(limit - 1);
+        return new ShopOrderPage(List.copyOf(page), new OrderCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     @Transactional
@@ -174,6 +222,11 @@ public class StripeShopService {
         }
 
         String eventType = event.getType();
+        if (eventType.startsWith("product.") || eventType.startsWith("price.")) {
+            shopCatalogService.markStale();
+            recordProcessedEvent(event);
+            return;
+        }
 
         EventDataObjectDeserializer dataObjectDeserializer = event.getDataObjectDeserializer();
         Optional<StripeObject> stripeObject = dataObjectDeserializer.getObject();
@@ -218,29 +271,38 @@ public class StripeShopService {
         }
     }
 
-    @Transactional
     public void reconcilePendingOrders() {
         List<ShopOrder> pendingOrders = shopOrderRepository.findTop100ByStatusOrderByUpdatedAtAsc(STATUS_PENDING);
+        Instant deadline = Instant.now().plus(maxJobRunDuration);
         for (ShopOrder order : pendingOrders) {
+            if (!Instant.now().isBefore(deadline)) {
+                log.info("Reconciliation stopped at its run budget; remaining orders wait for the next cycle");
+                return;
+            }
             try {
-                Session session = Session.retrieve(order.getStripeCheckoutSessionId());
+                if (!StringUtils.hasText(order.getStripeCheckoutSessionId())) {
+                    recoverUnfinishedCheckout(order);
+                    continue;
+                }
+
+                Session session = checkoutGateway.retrieveSession(order.getStripeCheckoutSessionId());
                 if ("paid".equalsIgnoreCase(session.getPaymentStatus())) {
-                    markStatus(order, STATUS_PAID);
+                    applyStatus(order.getId(), STATUS_PAID);
                     continue;
                 }
 
                 if ("expired".equalsIgnoreCase(session.getStatus())) {
-                    markStatus(order, STATUS_EXPIRED);
+                    applyStatus(order.getId(), STATUS_EXPIRED);
                     continue;
                 }
 
                 if (StringUtils.hasText(order.getStripePaymentIntentId())) {
-                    PaymentIntent paymentIntent = PaymentIntent.retrieve(order.getStripePaymentIntentId());
+                    PaymentIntent paymentIntent = checkoutGateway.retrievePaymentIntent(order.getStripePaymentIntentId());
                     if ("succeeded".equalsIgnoreCase(paymentIntent.getStatus())) {
-                        markStatus(order, STATUS_PAID);
+                        applyStatus(order.getId(), STATUS_PAID);
                     } else if ("canceled".equalsIgnoreCase(paymentIntent.getStatus())
                         || "requires_payment_method".equalsIgnoreCase(paymentIntent.getStatus())) {
-                        markStatus(order, STATUS_FAILED);
+                        applyStatus(order.getId(), STATUS_FAILED);
                     }
                 }
             } catch (StripeException ignored) {
@@ -249,15 +311,244 @@ public class StripeShopService {
         }
     }
 
+    private CreateCheckoutSessionResponse checkout(Long userId, String productId, String scopedIdempotencyKey) throws StripeException {
+        CheckoutReservation reservation = reserveOrder(userId, productId, scopedIdempotencyKey);
+        if (reservation.sessionId() != null) {
+            Optional<CheckoutSession> replay = replayExistingSession(reservation);
+            if (replay.isPresent()) {
+                return remember(scopedIdempotencyKey, replay.get());
+            }
+        }
+
+        ShopProductResponse product = shopCatalogService.current().find(reservation.productId())
+            .orElseThrow(() -> new IllegalArgumentException("invalid_product"));
+        Optional<CheckoutSession> prefetched = claimPrefetchedSession(reservation, product);
+        if (prefetched.isPresent()) {
+            return remember(scopedIdempotencyKey, prefetched.get());
+        }
+
+        String customerId = ensureStripeCustomer(reservation.userId(), reservation.email(), reservation.username(),
+            reservation.stripeCustomerId());
+        SessionCreateParams params = sessionParams(userId, customerId, product, reservation.orderId());
+
+        String stripeIdempotencyKey = "checkout:order:" + reservation.orderId();
+        if (reservation.sessionId() != null) {
+            stripeIdempotencyKey += ":renew:" + reservation.sessionId();
+        }
+        RequestOptions requestOptions = RequestOptions.builder()
+            .setIdempotencyKey(stripeIdempotencyKey)
+            .build();
+
+        Session session = checkoutGateway.createSession(params, requestOptions);
+        return remember(scopedIdempotencyKey, finalizeOrder(reservation.orderId(), reservation.sessionId(), session));
+    }
+
+    private boolean prefetch(Long userId, ShopProductResponse product) throws StripeException {
+        User user = readOnlyTransactionTemplate.execute(status -> userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("unauthorized")));
+        String customerId = ensureStripeCustomer(userId, user.getEmail(), user.getUsername(), user.getStripeCustomerId());
+        RequestOptions requestOptions = RequestOptions.builder()
+            .setIdempotencyKey("checkout:prefetch:" + userId + ":" + product.getId() + ":" + UUID.randomUUID())
+            .build();
+        Session session = checkoutGateway.createSession(sessionParams(userId, customerId, product, null), requestOptions);
+        CheckoutSession created = CheckoutSession.of(session);
+        return checkoutSessionPool.offer(userId, product, created.id(), created.url(), created.expiresAt());
+    }
+
+    private Optional<CheckoutSession> claimPrefetchedSession(CheckoutReservation reservation, ShopProductResponse product) {
+        if (reservation.sessionId() != null) {
+            return Optional.empty();
+        }
+        Optional<PrefetchedSession> claimed = checkoutSessionPool.claim(reservation.userId(), product);
+        if (claimed.isEmpty()) {
+            return Optional.empty();
+        }
+
+        PrefetchedSession prefetched = claimed.get();
+        CheckoutSession stored;
+        try {
+            stored = finalizeOrder(reservation.orderId(), null,
+                new CheckoutSession(prefetched.sessionId(), prefetched.url(), prefetched.sessionExpiresAt()), null);
+        } catch (RuntimeException ex) {
+            checkoutSessionPool.abandon(prefetched);
+            throw ex;
+        }
+        if (!prefetched.sessionId().equals(stored.id())) {
+            checkoutSessionPool.abandon(prefetched);
+        }
+        return Optional.of(stored);
+    }
+
+    private SessionCreateParams sessionParams(Long userId, String customerId, ShopProductResponse product, Long orderId) {
+        SessionCreateParams.Builder params = SessionCreateParams.builder()
+            .setMode(SessionCreateParams.Mode.PAYMENT)
+            .setCustomer(customerId)
+            .setSuccessUrl(successUrl + "?checkout=success&session_id={CHECKOUT_SESSION_ID}")
+            .setCancelUrl(cancelUrl + "?checkout=cancel")
+            .setClientReferenceId(String.valueOf(userId))
+            .putMetadata("userId", String.valueOf(userId))
+            .putMetadata("productId", product.getId())
+            .putMetadata("productName", product.getName())
+            .addLineItem(lineItem(product));
+        if (orderId != null) {
+            params.putMetadata("orderId", String.valueOf(orderId));
+        }
+        return params.build();
+    }
+
+    private CheckoutReservation reserveOrder(Long userId, String productId, String scopedIdempotencyKey) {
+        try {
+            return transactionTemplate.execute(status -> {
+                User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("unauthorized"));
+                if (scopedIdempotencyKey != null) {
+                    Optional<ShopOrder> existingOrder = shopOrderRepository.findByUserAndIdempotencyKey(user, scopedIdempotencyKey);
+                    if (existingOrder.isPresent()) {
+                        return CheckoutReservation.of(user, existingOrder.get());
+                    }
+                }
+
+                ShopProductResponse product = shopCatalogService.current().find(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("invalid_product"));
+                ShopOrder order = new ShopOrder();
+                order.setUser(user);
+                order.setProductId(product.getId());
+                order.setProductName(product.getName());
+                order.setAmountCents(product.getAmountCents());
+                order.setCurrency(product.getCurrency());
+                order.setStatus(STATUS_PENDING);
+                order.setIdempotencyKey(scopedIdempotencyKey);
+                shopOrderRepository.saveAndFlush(order);
+                userRepository.incrementOrderVersion(userId);
+                return CheckoutReservation.of(user, order);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (scopedIdempotencyKey == null) {
+                throw ex;
+            }
+            // a concurrent request with the same idempotency key reserved the order first
+            return readOnlyTransactionTemplate.execute(status -> {
+                User user = userRepository.findById(userId).orElseThrow(() -> ex);
+                return shopOrderRepository.findByUserAndIdempotencyKey(user, scopedIdempotencyKey)
+                    .map(order -> CheckoutReservation.of(user, order))
+                    .orElseThrow(() -> ex);
+            });
+        }
+    }
+
+    private Optional<CheckoutSession> replayExistingSession(CheckoutReservation reservation) throws StripeException {
+        boolean renewable = STATUS_PENDING.equals(reservation.status()) || STATUS_EXPIRED.equals(reservation.status());
+        if (reservation.checkoutUrl() != null) {
+            CheckoutSession stored = new CheckoutSession(reservation.sessionId(), reservation.checkoutUrl(),
+                reservation.checkoutExpiresAt());
+            return renewable && stored.isExpired() ? Optional.empty() : Optional.of(stored);
+        }
+
+        Session existingSession = checkoutGateway.retrieveSession(reservation.sessionId());
+        if (renewable && "expired".equalsIgnoreCase(existingSession.getStatus())) {
+            return Optional.empty();
+        }
+        CheckoutSession stored = CheckoutSession.of(existingSession);
+        transactionTemplate.executeWithoutResult(status ->
+            shopOrderRepository.findById(reservation.orderId())
+                .filter(order -> stored.id().equals(order.getStripeCheckoutSessionId()))
+                .ifPresent(order -> {
+                    order.setCheckoutUrl(stored.url());
+                    order.setCheckoutExpiresAt(stored.expiresAt());
+                }));
+        return Optional.of(stored);
+    }
+
+    private CheckoutSession finalizeOrder(Long orderId, String replacedSessionId, Session session) {
+        return finalizeOrder(orderId, replacedSessionId, CheckoutSession.of(session), session.getPaymentIntent());
+    }
+
+    private CheckoutSession finalizeOrder(Long orderId, String replacedSessionId, CheckoutSession stored, String paymentIntentId) {
+        return transactionTemplate.execute(status -> {
+            ShopOrder order = shopOrderRepository.findById(orderId).orElseThrow();
+            if (!Objects.equals(order.getStripeCheckoutSessionId(), replacedSessionId)) {
+                return new CheckoutSession(order.getStripeCheckoutSessionId(), order.getCheckoutUrl(), order.getCheckoutExpiresAt());
+            }
+
+            order.setStripeCheckoutSessionId(stored.id());
+            order.setStripePaymentIntentId(paymentIntentId);
+            order.setCheckoutUrl(stored.url());
+            order.setCheckoutExpiresAt(stored.expiresAt());
+            if (replacedSessionId != null) {
+                order.setStatus(STATUS_PENDING);
+            }
+            userRepository.incrementOrderVersion(order.getUser().getId());
+            if (replacedSessionId == null) {
+                purchaseEmailService.sendOrderPending(order.getUser(), order);
+            }
+            return stored;
+        });
+    }
+
+    private CreateCheckoutSessionResponse remember(String scopedIdempotencyKey, CheckoutSession session) {
+        CreateCheckoutSessionResponse response = new CreateCheckoutSessionResponse(session.url(), session.id());
+        if (scopedIdempotencyKey != null) {
+            checkoutReplayCache.put(scopedIdempotencyKey, response, session.expiresAt());
+        }
+        return response;
+    }
+
+    private void recoverUnfinishedCheckout(ShopOrder order) throws StripeException {
+        if (order.getCreatedAt().isAfter(Instant.now().minus(checkoutRecoveryGrace))) {
+            return;
+        }
+
+        Long userId = order.getUser().getId();
+        String customerId = readOnlyTransactionTemplate.execute(status ->
+            userRepository.findById(userId).map(User::getStripeCustomerId).orElse(null));
+        if (StringUtils.hasText(customerId)) {
+            String orderId = String.valueOf(order.getId());
+            for (Session session : checkoutGateway.findSessions(customerId, order.getCreatedAt().getEpochSecond() - 60)) {
+                if (session.getMetadata() != null && orderId.equals(session.getMetadata().get("orderId"))) {
+                    finalizeOrder(order.getId(), null, session);
+                    log.info("Recovered checkout session {} for order {}", session.getId(), orderId);
+                    return;
+                }
+            }
+        }
+
+        log.info("Expiring order {}; its checkout never reached Stripe", order.getId());
+        applyStatus(order.getId(), STATUS_EXPIRED);
+    }
+
+    private void applyStatus(Long orderId, String status) {
+        transactionTemplate.executeWithoutResult(tx ->
+            shopOrderRepository.findById(orderId).ifPresent(order -> markStatus(order, status)));
+    }
+
     private void updateOrderFromCheckoutSession(Session session, String status) {
-        Optional<ShopOrder> orderOpt = shopOrderRepository.findByStripeCheckoutSessionId(session.getId());
+        Optional<ShopOrder> orderOpt = shopOrderRepository.findByStripeCheckoutSessionId(session.getId())
+            .or(() -> findUnfinishedOrder(session));
         if (orderOpt.isPresent()) {
             ShopOrder order = orderOpt.get();
+            order.setStripeCheckoutSessionId(session.getId());
+            boolean intentChanged = !Objects.equals(order.getStripePaymentIntentId(), session.getPaymentIntent());
             order.setStripePaymentIntentId(session.getPaymentIntent());
+            if (intentChanged && status.equalsIgnoreCase(order.getStatus())) {
+                userRepository.incrementOrderVersion(order.getUser().getId());
+            }
             markStatus(order, status);
         }
     }
 
+    private Optional<ShopOrder> findUnfinishedOrder(Session session) {
+        String orderId = session.getMetadata() == null ? null : session.getMetadata().get("orderId");
+        if (!StringUtils.hasText(orderId)) {
+            return Optional.empty();
+        }
+        try {
+            return shopOrderRepository.findById(Long.valueOf(orderId))
+                .filter(order -> !StringUtils.hasText(order.getStripeCheckoutSessionId()));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
     private void updateOrderFromPaymentIntent(PaymentIntent paymentIntent, String status) {
         Optional<ShopOrder> orderOpt = shopOrderRepository.findByStripePaymentIntentId(paymentIntent.getId());
         orderOpt.ifPresent(order -> markStatus(order, status));
@@ -270,6 +561,7 @@ public class StripeShopService {
 
         order.setStatus(nextStatus);
         shopOrderRepository.save(order);
+        userRepository.incrementOrderVersion(order.getUser().getId());
 
         if (STATUS_PAID.equals(nextStatus)) {
             purchaseEmailService.sendOrderPaid(order.getUser(), order);
@@ -286,69 +578,112 @@ public class StripeShopService {
         processedStripeEventRepository.save(processed);
     }
 
-    private String normalizeIdempotencyKey(User user, String idempotencyKey) {
+    private String ensureStripeCustomer(Long userId, String email, String username, String stripeCustomerId)
+        throws StripeException {
+        if (StringUtils.hasText(stripeCustomerId)) {
+            return stripeCustomerId;
+        }
+        return customerFlights.execute(userId, () -> createStripeCustomer(userId, email, username));
+    }
+
+    private String createStripeCustomer(Long userId, String email, String username) throws StripeException {
+        CustomerCreateParams params = CustomerCreateParams.builder()
+            .setEmail(email)
+            .setName(username)
+            .putMetadata("userId", String.valueOf(userId))
+            .build();
+
+        RequestOptions requestOptions = RequestOptions.builder()
+            .setIdempotencyKey("customer:" + userId)
+            .build();
+        Customer customer = checkoutGateway.createCustomer(params, requestOptions);
+        return transactionTemplate.execute(status -> {
+            if (userRepository.assignStripeCustomerId(userId, customer.getId()) == 1) {
+                return customer.getId();
+            }
+            return userRepository.findById(userId)
+                .map(User::getStripeCustomerId)
+                .orElse(customer.getId());
+        });
+    }
+
+    private SessionCreateParams.LineItem lineItem(ShopProductResponse product) {
+        SessionCreateParams.LineItem.Builder lineItem = SessionCreateParams.LineItem.builder().setQuantity(1L);
+        if (StringUtils.hasText(product.getPriceId())) {
+            return lineItem.setPrice(product.getPriceId()).build();
+        }
+
+        SessionCreateParams.LineItem.PriceData.ProductData productData =
+            SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                .setName(product.getName())
+                .setDescription(product.getDescription())
+                .build();
+
+        return lineItem.setPriceData(SessionCreateParams.LineItem.PriceData.builder()
+            .setCurrency(product.getCurrency())
+            .setUnitAmount(product.getAmountCents())
+            .setProductData(productData)
+            .build()).build();
+    }
+
+    private String normalizeIdempotencyKey(Long userId, String idempotencyKey) {
         if (!StringUtils.hasText(idempotencyKey)) {
             return null;
         }
-        return "checkout:" + user.getId() + ":" + idempotencyKey.trim();
+        return "checkout:" + userId + ":" + idempotencyKey.trim();
     }
 
-    @Transactional
-    protected String ensureStripeCustomer(User user) throws StripeException {
-        if (StringUtils.hasText(user.getStripeCustomerId())) {
-            return user.getStripeCustomerId();
+    private record CheckoutReservation(
+        Long orderId,
+        String productId,
+        String status,
+        String sessionId,
+        String checkoutUrl,
+        Instant checkoutExpiresAt,
+        Long userId,
+        String email,
+        String username,
+        String stripeCustomerId
+    ) {
+
+        static CheckoutReservation of(User user, ShopOrder order) {
+            return new CheckoutReservation(order.getId(), order.getProductId(), order.getStatus(),
+                order.getStripeCheckoutSessionId(), order.getCheckoutUrl(), order.getCheckoutExpiresAt(),
+                user.getId(), user.getEmail(), user.getUsername(), user.getStripeCustomerId());
         }
+    }
 
-        CustomerCreateParams params = CustomerCreateParams.builder()
-            .setEmail(user.getEmail())
-            .setName(user.getUsername())
-            .putMetadata("userId", String.valueOf(user.getId()))
-            .build();
+    private record CheckoutSession(String id, String url, Instant expiresAt) {
 
-        Customer customer = Customer.create(params);
-        user.setStripeCustomerId(customer.getId());
-        userRepository.save(user);
-        return customer.getId();
-    }
-
-    private ShopOrderResponse toResponse(ShopOrder order) {
-        ShopOrderResponse response = new ShopOrderResponse();
-        response.setId(order.getId());
-        response.setProductId(order.getProductId());
-        response.setProductName(order.getProductName());
-        response.setAmountCents(order.getAmountCents());
-        response.setCurrency(order.getCurrency());
-        response.setStatus(order.getStatus());
-        response.setStripeCheckoutSessionId(order.getStripeCheckoutSessionId());
-        response.setStripePaymentIntentId(order.getStripePaymentIntentId());
-        response.setCreatedAt(order.getCreatedAt());
-        response.setUpdatedAt(order.getUpdatedAt());
-        return response;
+        static CheckoutSession of(Session session) {
+            Instant expiresAt = session.getExpiresAt() == null ? null : Instant.ofEpochSecond(session.getExpiresAt());
+            return new CheckoutSession(session.getId(), session.getUrl(), expiresAt);
+        }
+
+        boolean isExpired() {
+            return expiresAt != null && !expiresAt.isAfter(Instant.now());
+        }
     }
 
-    private Map<String, ShopProductResponse> catalog() {
-        Map<String, ShopProductResponse> products = new LinkedHashMap<>();
-        products.put("starter-pack", new ShopProductResponse(
-            "starter-pack",
-            "Starter Pack",
-            "Starter creative assets pack",
-            1900,
-            currency
-        ));
-        products.put("pro-pack", new ShopProductResponse(
-            "pro-pack",
-            "Pro Pack",
-            "Expanded assets + premium templates",
-            4900,
-            currency
-        ));
-        products.put("studio-pack", new ShopProductResponse(
-            "studio-pack",
-            "Studio Pack",
-            "Full bundle with lifetime updates",
-            9900,
-            currency
-        ));
-        return products;
+    private record OrderCursor(Instant createdAt, Long id) {
+
+        String encode() {
+            String value = createdAt.getEpochSecond() + "." + createdAt.getNano() + "." + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static OrderCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+                String[] parts = value.split("\\.");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("invalid_cursor");
+                }
+                Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                return new OrderCursor(createdAt, Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeException ex) {
+                throw new IllegalArgumentException("invalid_cursor");
+            }
+        }
     }
 }
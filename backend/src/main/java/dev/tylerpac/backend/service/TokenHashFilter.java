@@ -0,0 +1,164 @@
+package dev.tylerpac.backend.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.tylerpac.backend.model.UserTokenPurpose;
+import dev.tylerpac.backend.repo.UserTokenRepository;
+import dev.tylerpac.backend.repo.UserTokenRepository.TokenHashView;
+
+@Component
+public class TokenHashFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenHashFilter.class);
+
+    private final UserTokenRepository userTokenRepository;
+    private final boolean enabled;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final int rebuildBatchSize;
+    private final Map<UserTokenPurpose, PurposeFilter> filters = new EnumMap<>(UserTokenPurpose.class);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+
+    public TokenHashFilter(
+        UserTokenRepository userTokenRepository,
+        @Value("${app.auth.token-filter.enabled:false}") boolean enabled,
+        @Value("${app.auth.token-filter.expected-tokens:100000}") long expectedTokens,
+        @Value("${app.auth.token-filter.false-positive-rate:0.01}") double falsePositiveRate,
+        @Value("${app.auth.token-filter.rebuild-batch-size:5000}") int rebuildBatchSize
+    ) {
+        this.userTokenRepository = userTokenRepository;
+        this.enabled = enabled;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildBatchSize = rebuildBatchSize;
+        for (UserTokenPurpose purpose : UserTokenPurpose.values()) {
+            filters.put(purpose, new PurposeFilter());
+        }
+    }
+
+    public boolean mightContain(UserTokenPurpose purpose, String tokenHash) {
+        BloomFilter current = filters.get(purpose).current;
+        if (!enabled || current == null || current.mightContain(tokenHash)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void add(UserTokenPurpose purpose, String tokenHash) {
+        PurposeFilter filter = filters.get(purpose);
+        BloomFilter rebuilding = filter.rebuilding;
+        if (rebuilding != null) {
+            rebuilding.put(tokenHash);
+        }
+        BloomFilter current = filter.current;
+        if (current != null) {
+            current.put(tokenHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.token-filter.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        for (UserTokenPurpose purpose : UserTokenPurpose.values()) {
+            try {
+                rebuild(purpose);
+            } catch (RuntimeException e) {
+                log.warn("Token filter rebuild failed for {}", purpose, e);
+            }
+        }
+    }
+
+    public long getRejectedLookups() {
+        return rejected.sum();
+    }
+
+    public long getPassedLookups() {
+        return passed.sum();
+    }
+
+    private void rebuild(UserTokenPurpose purpose) {
+        PurposeFilter filter = filters.get(purpose);
+        long rows = userTokenRepository.countByPurpose(purpose);
+        BloomFilter next = new BloomFilter(Math.max(expectedTokens, rows * 2), falsePositiveRate);
+        filter.rebuilding = next;
+
+        long afterId = 0;
+        long loaded = 0;
+        List<TokenHashView> batch;
+        do {
+            batch = userTokenRepository.findByPurposeAndIdGreaterThanOrderByIdAsc(
+                purpose, afterId, Limit.of(rebuildBatchSize));
+            for (TokenHashView row : batch) {
+                next.put(row.getTokenHash());
+                afterId = row.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == rebuildBatchSize);
+
+        filter.current = next;
+        filter.rebuilding = null;
+        log.debug("Rebuilt {} token filter with {} hashes", purpose, loaded);
+    }
+
+    private static final class PurposeFilter {
+        private volatile BloomFilter current;
+        private volatile BloomFilter rebuilding;
+    }
+
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, ((m + 63) / 64) * 64);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+        }
+
+        void put(String tokenHash) {
+            long h1 = Long.parseUnsignedLong(tokenHash, 0, 16, 16);
+            long h2 = Long.parseUnsignedLong(tokenHash, 16, 32, 16) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value = bits.get(word);
+                while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    value = bits.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(String tokenHash) {
+            long h1 = Long.parseUnsignedLong(tokenHash, 0, 16, 16);
+            long h2 = Long.parseUnsignedLong(tokenHash, 16, 32, 16) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -8,9 +8,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import dev.tylerpac.backend.model.User;
 import dev.tylerpac.backend.model.UserToken;
@@ -23,54 +28,100 @@ public class UserTokenService {
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
     private final UserTokenRepository userTokenRepository;
-
-    public UserTokenService(UserTokenRepository userTokenRepository) {
+    private final TokenHashFilter tokenHashFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public UserTokenService(
+        UserTokenRepository userTokenRepository,
+        TokenHashFilter tokenHashFilter,
+        PlatformTransactionManager transactionManager
+    ) {
         this.userTokenRepository = userTokenRepository;
+        this.tokenHashFilter = tokenHashFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Transactional
     public String issueToken(User user, UserTokenPurpose purpose, Duration ttl) {
         userTokenRepository.deleteByUserAndPurpose(user, purpose);
 
-        String rawToken = generateRawToken();
-        UserToken entity = new UserToken();
-        entity.setUser(user);
-        entity.setPurpose(purpose);
-        entity.setTokenHash(hashToken(rawToken));
-        entity.setCreatedAt(Instant.now());
-        entity.setExpiresAt(Instant.now().plus(ttl));
-        entity.setUsedAt(null);
-
-        userTokenRepository.save(entity);
-        return rawToken;
+        String familyId = purpose == UserTokenPurpose.REFRESH_SESSION ? UUID.randomUUID().toString() : null;
+        return saveToken(user, purpose, familyId, ttl);
     }
 
-    @Transactional
-    public Optional<User> consumeToken(String rawToken, UserTokenPurpose purpose) {
+    public Optional<RotatedToken> rotateRefreshToken(String rawToken, Duration ttl) {
         String hash = hashToken(rawToken);
-        Optional<UserToken> tokenOpt = userTokenRepository
-            .findByTokenHashAndPurposeAndUsedAtIsNullAndExpiresAtAfter(hash, purpose, Instant.now());
+        if (!tokenHashFilter.mightContain(UserTokenPurpose.REFRESH_SESSION, hash)) {
+            return Optional.empty();
+        }
+        return transactionTemplate.execute(status -> rotate(hash, ttl));
+    }
 
+    private Optional<RotatedToken> rotate(String hash, Duration ttl) {
+        Optional<UserToken> tokenOpt = userTokenRepository
+            .findWithUserByTokenHashAndPurpose(hash, UserTokenPurpose.REFRESH_SESSION);
         if (tokenOpt.isEmpty()) {
             return Optional.empty();
         }
 
         UserToken token = tokenOpt.get();
-        token.setUsedAt(Instant.now());
-        userTokenRepository.save(token);
-        return Optional.of(token.getUser());
+        Instant now = Instant.now();
+        if (token.getUsedAt() != null) {
+            revokeFamily(token);
+            return Optional.empty();
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+        if (userTokenRepository.markUsed(hash, UserTokenPurpose.REFRESH_SESSION, now) == 0) {
+            revokeFamily(token);
+            return Optional.empty();
+        }
+
+        String familyId = token.getFamilyId() != null ? token.getFamilyId() : UUID.randomUUID().toString();
+        String successor = saveToken(token.getUser(), UserTokenPurpose.REFRESH_SESSION, familyId, ttl);
+        return Optional.of(new RotatedToken(token.getUser(), successor));
+    }
+
+    public Optional<User> consumeToken(String rawToken, UserTokenPurpose purpose) {
+        String hash = hashToken(rawToken);
+        if (!tokenHashFilter.mightContain(purpose, hash)) {
+            return Optional.empty();
+        }
+
+        return transactionTemplate.execute(status -> {
+            Optional<UserToken> tokenOpt = userTokenRepository
+                .findByTokenHashAndPurposeAndUsedAtIsNullAndExpiresAtAfter(hash, purpose, Instant.now());
+
+            if (tokenOpt.isEmpty()) {
+                return Optional.empty();
+            }
+
+            UserToken token = tokenOpt.get();
+            token.setUsedAt(Instant.now());
+            userTokenRepository.save(token);
+            return Optional.of(token.getUser());
+        });
     }
 
-    @Transactional(readOnly = true)
     public boolean isAlreadyVerifiedFromToken(String rawToken) {
         String hash = hashToken(rawToken);
-        Optional<UserToken> tokenOpt = userTokenRepository.findByTokenHashAndPurpose(hash, UserTokenPurpose.EMAIL_VERIFICATION);
-        if (tokenOpt.isEmpty()) {
+        if (!tokenHashFilter.mightContain(UserTokenPurpose.EMAIL_VERIFICATION, hash)) {
             return false;
         }
 
-        UserToken token = tokenOpt.get();
-        return token.getUsedAt() != null && token.getUser().isEmailVerified();
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status -> {
+            Optional<UserToken> tokenOpt = userTokenRepository.findByTokenHashAndPurpose(hash, UserTokenPurpose.EMAIL_VERIFICATION);
+            if (tokenOpt.isEmpty()) {
+                return false;
+            }
+
+            UserToken token = tokenOpt.get();
+            return token.getUsedAt() != null && token.getUser().isEmailVerified();
+        }));
     }
 
     @Transactional
@@ -78,6 +129,43 @@ public class UserTokenService {
         userTokenRepository.deleteByUserAndPurpose(user, purpose);
     }
 
+    private String saveToken(User user, UserTokenPurpose purpose, String familyId, Duration ttl) {
+        String rawToken = generateRawToken();
+        Instant now = Instant.now();
+        UserToken entity = new UserToken();
+        entity.setUser(user);
+        entity.setPurpose(purpose);
+        entity.setFamilyId(familyId);
+        entity.setTokenHash(hashToken(rawToken));
+        entity.setCreatedAt(now);
+        entity.setExpiresAt(now.plus(ttl));
+        entity.setUsedAt(null);
+
+        userTokenRepository.save(entity);
+        registerIssuedHash(purpose, entity.getTokenHash());
+        return rawToken;
+    }
+
+    private void registerIssuedHash(UserTokenPurpose purpose, String tokenHash) {
+        tokenHashFilter.add(purpose, tokenHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenHashFilter.add(purpose, tokenHash);
+                }
+            });
+        }
+    }
+
+    private void revokeFamily(UserToken token) {
+        if (token.getFamilyId() != null) {
+            userTokenRepository.deleteByFamilyId(token.getFamilyId());
+        } else {
+            userTokenRepository.deleteByUserAndPurpose(token.getUser(), UserTokenPurpose.REFRESH_SESSION);
+        }
+    }
+
     private String generateRawToken() {
         byte[] randomBytes = new byte[32];
         SECURE_RANDOM.nextBytes(randomBytes);
@@ -97,4 +185,7 @@ public class UserTokenService {
             throw new IllegalStateException("SHA-256 algorithm unavailable", e);
         }
     }
-}
\ No newline at end of file
+
+    public record RotatedToken(User user, String rawToken) {
+    }
+}
@@ -2,4 +2,12 @@ package dev.tylerpac.backend.service.email;
 
 public interface EmailSender {
     void sendEmail(String to, String subject, String textBody);
-}
\ No newline at end of file
+
+    default void sendEmail(String to, String subject, String textBody, String htmlBody) {
+        sendEmail(to, subject, textBody);
+    }
+
+    default double maxSendRate() {
+        return 0;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.tylerpac.backend.service.email;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class EmailTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplates.class);
+    private static final String CLASSPATH_PREFIX = "email-templates/";
+    private static final String SUBJECT_PREFIX = "Subject:";
+    private static final int MAX_RETAINED_BUFFER = 32 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final Path overrideDir;
+    private final Map<String, TemplateSet> templates = new ConcurrentHashMap<>();
+
+    public EmailTemplates(Path overrideDir) {
+        this.overrideDir = overrideDir;
+    }
+
+    public RenderedEmail render(String name, Map<String, ?> model) {
+        TemplateSet set = templates.computeIfAbsent(name, this::load);
+        String subject = render(set.subject(), model);
+        String text = render(set.text(), model);
+        String html = set.html() == null ? null : render(set.html(), model);
+        return new RenderedEmail(subject, text, html);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.templates.reload-interval-ms:5000}")
+    public void reloadChanged() {
+        if (overrideDir == null) {
+            return;
+        }
+        for (Map.Entry<String, TemplateSet> entry : templates.entrySet()) {
+            String name = entry.getKey();
+            TemplateSet current = entry.getValue();
+            if (lastModified(name + ".txt") == current.textModified()
+                && lastModified(name + ".html") == current.htmlModified()) {
+                continue;
+            }
+            try {
+                templates.replace(name, current, load(name));
+                log.info("Reloaded email template {}", name);
+            } catch (RuntimeException ex) {
+                log.error("Keeping previous version of email template {}", name, ex);
+            }
+        }
+    }
+
+    private static String render(CompiledTemplate template, Map<String, ?> model) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, model);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private TemplateSet load(String name) {
+        String text = read(name + ".txt");
+        if (text == null) {
+            throw new IllegalArgumentException("No email template named " + name);
+        }
+        String html = read(name + ".html");
+
+        int firstBreak = text.indexOf('\n');
+        String firstLine = firstBreak < 0 ? text : text.substring(0, firstBreak);
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalArgumentException("Email template " + name + ".txt must start with a Subject: line");
+        }
+        String body = firstBreak < 0 ? "" : text.substring(firstBreak + 1);
+        if (body.startsWith("\n")) {
+            body = body.substring(1);
+        }
+
+        return new TemplateSet(
+            CompiledTemplate.compile(firstLine.substring(SUBJECT_PREFIX.length()).trim(), false),
+            CompiledTemplate.compile(stripTrailingNewline(body), false),
+            html == null ? null : CompiledTemplate.compile(stripTrailingNewline(html), true),
+            lastModified(name + ".txt"),
+            lastModified(name + ".html")
+        );
+    }
+
+    private String read(String fileName) {
+        try {
+            if (overrideDir != null) {
+                Path file = overrideDir.resolve(fileName);
+                if (Files.isRegularFile(file)) {
+                    return normalize(Files.readString(file, StandardCharsets.UTF_8));
+                }
+            }
+            try (InputStream in = EmailTemplates.class.getClassLoader().getResourceAsStream(CLASSPATH_PREFIX + fileName)) {
+                return in == null ? null : normalize(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read email template " + fileName, ex);
+        }
+    }
+
+    private long lastModified(String fileName) {
+        if (overrideDir == null) {
+            return 0L;
+        }
+        try {
+            Path file = overrideDir.resolve(fileName);
+            return Files.isRegularFile(file) ? Files.getLastModifiedTime(file).toMillis() : 0L;
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    private static String normalize(String source) {
+        return source.replace("\r\n", "\n");
+    }
+
+    private static String stripTrailingNewline(String source) {
+        return source.endsWith("\n") ? source.substring(0, source.length() - 1) : source;
+    }
+
+    private record TemplateSet(
+        CompiledTemplate subject,
+        CompiledTemplate text,
+        CompiledTemplate html,
+        long textModified,
+        long htmlModified
+    ) {
+    }
+
+    public record RenderedEmail(String subject, String textBody, String htmlBody) {
+    }
+}
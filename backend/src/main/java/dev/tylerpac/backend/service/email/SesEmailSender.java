@@ -19,15 +19,29 @@ public class SesEmailSender implements EmailSender {
 
     @Override
     public void sendEmail(String to, String subject, String textBody) {
+        sendEmail(to, subject, textBody, null);
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String textBody, String htmlBody) {
+        Body.Builder body = Body.builder().text(Content.builder().data(textBody).charset("UTF-8").build());
+        if (htmlBody != null) {
+            body.html(Content.builder().data(htmlBody).charset("UTF-8").build());
+        }
         SendEmailRequest request = SendEmailRequest.builder()
             .source(fromEmail)
             .destination(Destination.builder().toAddresses(to).build())
             .message(Message.builder()
                 .subject(Content.builder().data(subject).charset("UTF-8").build())
-                .body(Body.builder().text(Content.builder().data(textBody).charset("UTF-8").build()).build())
+                .body(body.build())
                 .build())
             .build();
 
         sesClient.sendEmail(request);
     }
-}
\ No newline at end of file
+
+    @Override
+    public double maxSendRate() {
+        return sesClient.getSendQuota().maxSendRate();
+    }
+}
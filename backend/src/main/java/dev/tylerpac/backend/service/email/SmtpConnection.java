@@ -0,0 +1,248 @@
+package dev.tylerpac.backend.service.email;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+final class SmtpConnection implements Closeable {
+
+    private final SmtpSettings settings;
+    private final Set<String> extensions = new HashSet<>();
+    private Socket socket;
+    private InputStream in;
+    private OutputStream out;
+    private int messagesSent;
+    private long lastUsedNanos;
+    private boolean broken;
+    private boolean messageDataSent;
+
+    private SmtpConnection(SmtpSettings settings) {
+        this.settings = settings;
+        this.lastUsedNanos = System.nanoTime();
+    }
+
+    static SmtpConnection open(SmtpSettings settings) throws IOException {
+        SmtpConnection connection = new SmtpConnection(settings);
+        try {
+            connection.handshake();
+            return connection;
+        } catch (IOException | RuntimeException ex) {
+            connection.closeQuietly();
+            throw ex;
+        }
+    }
+
+    boolean supportsPipelining() {
+        return extensions.contains("PIPELINING");
+    }
+
+    boolean isReusable(long maxIdleNanos) {
+        return !broken
+            && messagesSent < settings.maxMessagesPerConnection()
+            && System.nanoTime() - lastUsedNanos < maxIdleNanos;
+    }
+
+    boolean messageDataSent() {
+        return messageDataSent;
+    }
+
+    void send(String from, String to, byte[] message) throws IOException {
+        requireEnvelopeAddress(from);
+        requireEnvelopeAddress(to);
+        messageDataSent = false;
+        try {
+            if (supportsPipelining()) {
+                write("MAIL FROM:<" + from + ">");
+                write("RCPT TO:<" + to + ">");
+                write("DATA");
+                out.flush();
+                Reply mail = readReply();
+                Reply rcpt = readReply();
+                Reply data = readReply();
+                if (data.code() == 354 && (mail.code() != 250 || rcpt.code() != 250)) {
+                    write(".");
+                    out.flush();
+                    readReply();
+                }
+                expect(mail, 250);
+                expect(rcpt, 250);
+                expect(data, 354);
+            } else {
+                command("MAIL FROM:<" + from + ">", 250);
+                command("RCPT TO:<" + to + ">", 250);
+                command("DATA", 354);
+            }
+            messageDataSent = true;
+            out.write(message);
+            out.write(".\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            expect(readReply(), 250);
+            messagesSent++;
+            lastUsedNanos = System.nanoTime();
+        } catch (SmtpException ex) {
+            reset();
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            broken = true;
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!broken && socket != null && !socket.isClosed()) {
+            try {
+                write("QUIT");
+                out.flush();
+                readReply();
+            } catch (IOException | RuntimeException ignored) {
+                // The server may already have dropped the connection.
+            }
+        }
+        closeQuietly();
+    }
+
+    private void handshake() throws IOException {
+        connect();
+        expect(readReply(), 220);
+        ehlo();
+
+        if (settings.startTls()) {
+            if (!extensions.contains("STARTTLS")) {
+                throw new SmtpException(0, "Server does not advertise STARTTLS");
+            }
+            command("STARTTLS", 220);
+            SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                .createSocket(socket, settings.host(), settings.port(), true);
+            tls.startHandshake();
+            bind(tls);
+            extensions.clear();
+            ehlo();
+        }
+
+        if (settings.username() != null && !settings.username().isBlank()) {
+            String credentials = "\0" + settings.username() + "\0" + settings.password();
+            String encoded = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+            command("AUTH PLAIN " + encoded, 235);
+        }
+    }
+
+    private void connect() throws IOException {
+        Socket plain = new Socket();
+        plain.setTcpNoDelay(true);
+        plain.connect(new InetSocketAddress(settings.host(), settings.port()), settings.connectTimeoutMs());
+        bind(plain);
+    }
+
+    private void bind(Socket target) throws IOException {
+        target.setSoTimeout(settings.readTimeoutMs());
+        socket = target;
+        in = new BufferedInputStream(target.getInputStream());
+        out = new BufferedOutputStream(target.getOutputStream());
+    }
+
+    private void ehlo() throws IOException {
+        Reply reply = command("EHLO " + settings.heloName(), 250);
+        String[] lines = reply.text().split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            extensions.add(lines[i].trim().split(" ", 2)[0].toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private void reset() {
+        try {
+            command("RSET", 250);
+        } catch (IOException | RuntimeException ex) {
+            broken = true;
+        }
+    }
+
+    private Reply command(String line, int expectedCode) throws IOException {
+        write(line);
+        out.flush();
+        Reply reply = readReply();
+        expect(reply, expectedCode);
+        return reply;
+    }
+
+    private void write(String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private Reply readReply() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            String line = readLine();
+            if (line.length() < 3) {
+                throw new SmtpException(0, "Malformed SMTP reply: " + line);
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(line.length() > 4 ? line.substring(4) : "");
+            if (line.length() == 3 || line.charAt(3) != '-') {
+                return new Reply(Integer.parseInt(line.substring(0, 3)), text.toString());
+            }
+        }
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        throw new EOFException("SMTP server closed the connection");
+    }
+
+    private static void requireEnvelopeAddress(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c == '\r' || c == '\n' || c == '<' || c == '>') {
+                throw new SmtpException(0, "Invalid envelope address");
+            }
+        }
+    }
+
+    private static void expect(Reply reply, int expectedCode) {
+        if (reply.code() != expectedCode) {
+            throw new SmtpException(reply.code(), reply.text());
+        }
+    }
+
+    private void closeQuietly() {
+        broken = true;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing left to release.
+            }
+        }
+    }
+
+    private record Reply(int code, String text) {
+    }
+}
@@ -0,0 +1,202 @@
+package dev.tylerpac.backend.service.email;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SmtpEmailSender implements EmailSender, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpEmailSender.class);
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final Base64.Encoder MIME_ENCODER = Base64.getMimeEncoder(76, CRLF);
+
+    private final SmtpSettings settings;
+    private final String fromEmail;
+    private final String messageIdDomain;
+    private final long maxIdleNanos;
+    private final long acquireTimeoutMs;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<SmtpConnection> idle = new LinkedBlockingDeque<>();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private volatile boolean closed;
+
+    public SmtpEmailSender(SmtpSettings settings, String fromEmail, int poolSize, long maxIdleMs, long acquireTimeoutMs) {
+        this.settings = settings;
+        this.fromEmail = fromEmail;
+        this.messageIdDomain = fromEmail.contains("@") ? fromEmail.substring(fromEmail.indexOf('@') + 1) : settings.host();
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMs);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String textBody) {
+        sendEmail(to, subject, textBody, null);
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String textBody, String htmlBody) {
+        byte[] message = buildMessage(to, subject, textBody, htmlBody);
+        acquirePermit();
+        try {
+            SmtpConnection connection = idle.pollFirst();
+            boolean pooled = connection != null;
+            if (connection == null || !connection.isReusable(maxIdleNanos)) {
+                discard(connection);
+                connection = openConnection();
+                pooled = false;
+            }
+
+            try {
+                send(connection, to, message);
+            } catch (IOException ex) {
+                discard(connection);
+                if (!pooled || connection.messageDataSent()) {
+                    throw new SmtpException("SMTP send to " + to + " failed", ex);
+                }
+                // The server may have dropped an idle pooled session before accepting anything; retry once on a fresh one.
+                connection = openConnection();
+                try {
+                    send(connection, to, message);
+                } catch (IOException retryEx) {
+                    discard(connection);
+                    throw new SmtpException("SMTP send to " + to + " failed", retryEx);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SmtpConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    private void send(SmtpConnection connection, String to, byte[] message) throws IOException {
+        try {
+            connection.send(fromEmail, to, message);
+        } catch (SmtpException ex) {
+            release(connection);
+            throw ex;
+        }
+        messagesSent.increment();
+        release(connection);
+    }
+
+    private void release(SmtpConnection connection) {
+        if (!closed && connection.isReusable(maxIdleNanos)) {
+            idle.offerFirst(connection);
+        } else {
+            discard(connection);
+        }
+    }
+
+    private SmtpConnection openConnection() {
+        try {
+            SmtpConnection connection = SmtpConnection.open(settings);
+            connectionsOpened.increment();
+            return connection;
+        } catch (IOException ex) {
+            throw new SmtpException("Could not connect to SMTP server " + settings.host() + ":" + settings.port(), ex);
+        }
+    }
+
+    private void discard(SmtpConnection connection) {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SmtpException(0, "Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SmtpException("Interrupted waiting for an SMTP connection", ex);
+        }
+    }
+
+    private byte[] buildMessage(String to, String subject, String textBody, String htmlBody) {
+        int htmlLength = htmlBody == null ? 0 : htmlBody.length();
+        ByteArrayOutputStream message = new ByteArrayOutputStream((textBody.length() + htmlLength) * 4 / 3 + 768);
+        header(message, "Date", ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
+        header(message, "From", fromEmail);
+        header(message, "To", to);
+        header(message, "Subject", encodeHeader(subject));
+        header(message, "Message-ID", "<" + UUID.randomUUID() + "@" + messageIdDomain + ">");
+        header(message, "MIME-Version", "1.0");
+        if (htmlBody == null) {
+            part(message, "text/plain", textBody);
+            return message.toByteArray();
+        }
+
+        String boundary = "=_" + UUID.randomUUID();
+        header(message, "Content-Type", "multipart/alternative; boundary=\"" + boundary + "\"");
+        message.writeBytes(CRLF);
+        line(message, "--" + boundary);
+        part(message, "text/plain", textBody);
+        line(message, "--" + boundary);
+        part(message, "text/html", htmlBody);
+        line(message, "--" + boundary + "--");
+        return message.toByteArray();
+    }
+
+    private static void part(ByteArrayOutputStream message, String contentType, String content) {
+        header(message, "Content-Type", contentType + "; charset=UTF-8");
+        header(message, "Content-Transfer-Encoding", "base64");
+        message.writeBytes(CRLF);
+        message.writeBytes(MIME_ENCODER.encode(content.getBytes(StandardCharsets.UTF_8)));
+        message.writeBytes(CRLF);
+    }
+
+    private static void line(ByteArrayOutputStream message, String value) {
+        message.writeBytes((value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void header(ByteArrayOutputStream message, String name, String value) {
+        if (value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0) {
+            log.warn("Dropping line breaks from {} header", name);
+            value = value.replace("\r", "").replace("\n", " ");
+        }
+        message.writeBytes((name + ": " + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String encodeHeader(String value) {
+        boolean ascii = value.chars().allMatch(c -> c >= 0x20 && c < 0x7f);
+        if (ascii) {
+            return value;
+        }
+        return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+    }
+}
@@ -0,0 +1,24 @@
+package dev.tylerpac.backend.service.email;
+
+public class SmtpException extends RuntimeException {
+
+    private final int replyCode;
+
+    public SmtpException(int replyCode, String message) {
+        super(replyCode > 0 ? replyCode + " " + message : message);
+        this.replyCode = replyCode;
+    }
+
+    public SmtpException(String message, Throwable cause) {
+        super(message, cause);
+        this.replyCode = 0;
+    }
+
+    public int getReplyCode() {
+        return replyCode;
+    }
+
+    public boolean isPermanent() {
+        return replyCode >= 500;
+    }
+}
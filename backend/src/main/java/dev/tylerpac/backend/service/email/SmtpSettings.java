@@ -0,0 +1,14 @@
+package dev.tylerpac.backend.service.email;
+
+public record SmtpSettings(
+    String host,
+    int port,
+    String username,
+    String password,
+    boolean startTls,
+    String heloName,
+    int connectTimeoutMs,
+    int readTimeoutMs,
+    int maxMessagesPerConnection
+) {
+}
@@ -0,0 +1,90 @@
+package dev.tylerpac.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.EmailCampaignRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.service.email.RecordingEmailSender;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:admincampaigns;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.admin.api-key=test-admin-key"
+})
+@AutoConfigureMockMvc
+@Import(RecordingEmailSender.Config.class)
+class AdminCampaignControllerTest {
+
+    private static final String CAMPAIGN_BODY =
+        "{\"name\":\"spring-packs\",\"subject\":\"New packs\",\"body\":\"Hi {{username}}\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailCampaignRepository emailCampaignRepository;
+
+    @Autowired
+    private RecordingEmailSender recordingEmailSender;
+
+    @AfterEach
+    void cleanUp() {
+        emailCampaignRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createdCampaignRunsInTheBackgroundAndResolvesTheSendRateLazily() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            User user = new User("admin-campaign-" + i, "x", "admin-campaign-" + i + "@example.com");
+            user.setEmailVerified(true);
+            userRepository.save(user);
+        }
+        assertThat(recordingEmailSender.getRateLookups()).isZero();
+
+        mockMvc.perform(post("/admin/campaigns").contentType(MediaType.APPLICATION_JSON).content(CAMPAIGN_BODY))
+            .andExpect(status().isForbidden());
+        String created = mockMvc.perform(post("/admin/campaigns")
+                .header(AdminCampaignController.ADMIN_KEY_HEADER, "test-admin-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CAMPAIGN_BODY))
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(created, "$.id");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> recordingEmailSender.getSent().size() == 3);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+            mockMvc.perform(get("/admin/campaigns/{id}", id.longValue())
+                    .header(AdminCampaignController.ADMIN_KEY_HEADER, "test-admin-key"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.sentCount").value(3)));
+        assertThat(recordingEmailSender.getRateLookups()).isEqualTo(1);
+
+        mockMvc.perform(post("/admin/campaigns")
+                .header(AdminCampaignController.ADMIN_KEY_HEADER, "test-admin-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CAMPAIGN_BODY))
+            .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,146 @@
+package dev.tylerpac.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.repo.UserTokenRepository;
+import dev.tylerpac.backend.service.TokenHashFilter;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.auth.token-filter.enabled=true"
+})
+@AutoConfigureMockMvc
+class AuthControllerLoginStatementCountTest {
+
+    private static final String LOGIN_BODY = "{\"username\":\"statement-count\",\"password\":\"correct-horse\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTokenRepository userTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TokenHashFilter tokenHashFilter;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("statement-count", passwordEncoder.encode("correct-horse"), "statement-count@example.com");
+        user.setEmailVerified(true);
+        userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void successfulLoginLoadsUserOnceAndIssuesRefreshTokenInTwoWrites() throws Exception {
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+
+        // select user, delete previous refresh sessions, insert new refresh session
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedLoginRunsOnlyTheUserLookup() throws Exception {
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(LOGIN_BODY.replace("correct-horse", "wrong-horse")))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshRotatesInOneSelectOneUpdateOneInsert() throws Exception {
+        String refreshToken = login();
+        statistics.clear();
+
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshBody(refreshToken)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+
+        // select token joined with user, conditional mark-used update, insert successor
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reusingRotatedRefreshTokenRevokesTheFamily() throws Exception {
+        String refreshToken = login();
+        String successor = JsonPath.read(mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(refreshToken)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(), "$.refreshToken");
+
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshBody(refreshToken)))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshBody(successor)))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void unknownTokensAreRejectedWithoutTouchingTheDatabase() throws Exception {
+        login();
+        tokenHashFilter.rebuild();
+        statistics.clear();
+
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(refreshBody("not-a-real-token")))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/auth/verify-email").param("token", "not-a-real-token"))
+            .andExpect(status().isBadRequest());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getTransactionCount()).isZero();
+    }
+
+    private String login() throws Exception {
+        return JsonPath.read(mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(), "$.refreshToken");
+    }
+
+    private static String refreshBody(String refreshToken) {
+        return "{\"refreshToken\":\"" + refreshToken + "\"}";
+    }
+}
@@ -0,0 +1,141 @@
+package dev.tylerpac.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.model.ShopOrder;
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.ShopOrderRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ShopControllerOrdersTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopOrderRepository shopOrderRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String bearer;
+    private Long buyerId;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("orders-buyer", "unused", "orders-buyer@example.com");
+        user.setEmailVerified(true);
+        buyerId = userRepository.save(user).getId();
+        bearer = "Bearer " + jwtUtil.generateToken(user, 60_000);
+
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ShopOrder order = new ShopOrder();
+            order.setUser(user);
+            order.setProductId("starter-pack");
+            order.setProductName("Starter Pack");
+            order.setAmountCents(1900);
+            order.setCurrency("usd");
+            order.setStatus("PAID");
+            order.setStripeCheckoutSessionId("cs_test_orders_" + i);
+            orderIds.add(0, shopOrderRepository.save(order).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        shopOrderRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void pagesThroughOrdersNewestFirstWithoutLoadingEntities() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/shop/orders")
+                    .param("limit", "2")
+                    .param("cursor", cursor == null ? "" : cursor)
+                    .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+            List<Number> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = result.getResponse().getHeader(ShopController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(orderIds);
+        // one order-version lookup and one page query per request
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void unchangedOrdersRevalidateWithoutReadingOrderRows() throws Exception {
+        String etag = mockMvc.perform(get("/shop/orders").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/shop/orders").header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> userRepository.incrementOrderVersion(buyerId));
+        mockMvc.perform(get("/shop/orders").header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void rejectsMalformedCursor() throws Exception {
+        mockMvc.perform(get("/shop/orders").param("cursor", "not-a-cursor").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist(ShopController.NEXT_CURSOR_HEADER));
+    }
+}
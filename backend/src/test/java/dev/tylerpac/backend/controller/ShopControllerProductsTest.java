@@ -0,0 +1,69 @@
+package dev.tylerpac.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ShopControllerProductsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void servesCatalogWithStrongEtagAndCacheControl() throws Exception {
+        mockMvc.perform(get("/shop/products"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"[A-Za-z0-9_-]+\"")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+            .andExpect(jsonPath("$[0].id").value("starter-pack"))
+            .andExpect(jsonPath("$[0].currency").value("usd"))
+            .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void conditionalRequestGets304() throws Exception {
+        String etag = mockMvc.perform(get("/shop/products"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mockMvc.perform(get("/shop/products").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void gzipIsServedPrecompressedWhenAccepted() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/shop/products")).andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/shop/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+            .andReturn();
+
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            body = in.readAllBytes();
+        }
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(plain.getResponse().getContentAsString());
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(plain.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+}
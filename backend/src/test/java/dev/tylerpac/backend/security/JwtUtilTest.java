@@ -0,0 +1,49 @@
+package dev.tylerpac.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tylerpac.backend.model.User;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil("0123456789abcdef0123456789abcdef", false, 100);
+
+    @Test
+    void repeatedTokensAreServedFromTheClaimsCache() {
+        String token = jwtUtil.generateToken(user(1L, "sam"), 60_000);
+
+        assertThat(jwtUtil.parseVerifiedClaims(token)).isPresent();
+        assertThat(jwtUtil.parseVerifiedClaims(token)).get()
+            .satisfies(claims -> assertThat(claims.getSubject()).isEqualTo("sam"));
+        assertThat(jwtUtil.getClaimsCacheHits()).isEqualTo(1);
+        assertThat(jwtUtil.getClaimsCacheMisses()).isEqualTo(1);
+
+        assertThat(jwtUtil.parseVerifiedClaims(jwtUtil.generateToken(user(2L, "alex"), 60_000))).isPresent();
+        assertThat(jwtUtil.getClaimsCacheHits()).isEqualTo(1);
+        assertThat(jwtUtil.getClaimsCacheMisses()).isEqualTo(2);
+        assertThat(jwtUtil.getClaimsCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void entriesPastExpirationAreDropped() throws Exception {
+        String token = jwtUtil.generateToken(user(1L, "sam"), 1_500);
+        assertThat(jwtUtil.parseVerifiedClaims(token)).isPresent();
+        assertThat(jwtUtil.getClaimsCacheSize()).isEqualTo(1);
+
+        Thread.sleep(2_000);
+
+        assertThat(jwtUtil.parseVerifiedClaims(token)).isEmpty();
+        assertThat(jwtUtil.getClaimsCacheHits()).isZero();
+        assertThat(jwtUtil.getClaimsCacheMisses()).isEqualTo(2);
+        assertThat(jwtUtil.getClaimsCacheSize()).isZero();
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User(username, "unused", username + "@example.com");
+        user.setId(id);
+        user.setEmailVerified(true);
+        return user;
+    }
+}
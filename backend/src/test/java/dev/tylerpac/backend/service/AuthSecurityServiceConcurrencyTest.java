@@ -0,0 +1,127 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.tylerpac.backend.model.AuthLoginLock;
+import dev.tylerpac.backend.model.AuthRateLimitBucket;
+import dev.tylerpac.backend.repo.AuthLoginLockRepository;
+import dev.tylerpac.backend.repo.AuthRateLimitBucketRepository;
+
+@SpringBootTest(properties = {
+    "app.auth.rate-limit.store=database",
+    "app.auth.bruteforce.store=database",
+    "app.auth.rate-limit.max-requests-per-minute=1000000",
+    "app.auth.bruteforce.max-failures=1000000"
+})
+class AuthSecurityServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 100;
+
+    @Autowired
+    private AuthSecurityService authSecurityService;
+
+    @Autowired
+    private AuthRateLimitBucketRepository authRateLimitBucketRepository;
+
+    @Autowired
+    private AuthLoginLockRepository authLoginLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        authRateLimitBucketRepository.deleteAll();
+        authLoginLockRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRateLimitChecksFromNewIpLoseNoIncrements() throws Exception {
+        runConcurrently(() -> authSecurityService.isIpRateLimited("203.0.113.7"));
+
+        List<AuthRateLimitBucket> buckets = authRateLimitBucketRepository.findAll();
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.get(0).getRequestCount()).isEqualTo(THREADS * CALLS_PER_THREAD);
+    }
+
+    @Test
+    void concurrentFailuresForNewKeyLoseNoIncrements() throws Exception {
+        runConcurrently(() -> {
+            authSecurityService.recordAuthFailure("alice", "203.0.113.8");
+            return null;
+        });
+
+        List<AuthLoginLock> locks = authLoginLockRepository.findAll();
+        assertThat(locks).hasSize(1);
+        assertThat(locks.get(0).getFailureCount()).isEqualTo(THREADS * CALLS_PER_THREAD);
+        assertThat(locks.get(0).getLockedUntil()).isNull();
+    }
+
+    @Test
+    void failureUpsertLocksAtThresholdAndResetsAfterExpiry() {
+        Instant now = Instant.now();
+        Duration window = Duration.ofMinutes(15);
+        for (int i = 0; i < 3; i++) {
+            recordFailure("bob|203.0.113.9", now, window, 3);
+        }
+
+        AuthLoginLock locked = authLoginLockRepository.findAll().get(0);
+        assertThat(locked.getLockedUntil()).isAfter(now);
+        assertThat(authLoginLockRepository.existsByLockKeyAndLockedUntilAfter("bob|203.0.113.9", now)).isTrue();
+
+        recordFailure("bob|203.0.113.9", now, window, 3);
+        assertThat(authLoginLockRepository.findAll().get(0).getFailureCount()).isEqualTo(locked.getFailureCount());
+
+        Instant afterLock = now.plus(window).plusSeconds(1);
+        recordFailure("bob|203.0.113.9", afterLock, window, 3);
+        AuthLoginLock reset = authLoginLockRepository.findAll().get(0);
+        assertThat(reset.getLockedUntil()).isNull();
+        assertThat(reset.getFailureCount()).isEqualTo(1);
+    }
+
+    private void recordFailure(String lockKey, Instant now, Duration window, int maxFailures) {
+        transactionTemplate.executeWithoutResult(status -> authLoginLockRepository.recordFailureH2(
+            lockKey, now, now.minus(window), now.plus(window), maxFailures
+        ));
+    }
+
+    private void runConcurrently(Callable<?> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < CALLS_PER_THREAD; j++) {
+                        call.call();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
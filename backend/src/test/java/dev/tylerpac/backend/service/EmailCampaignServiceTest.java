@@ -0,0 +1,87 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import dev.tylerpac.backend.model.EmailCampaign;
+import dev.tylerpac.backend.model.EmailCampaignStatus;
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.EmailCampaignRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+import dev.tylerpac.backend.service.email.RecordingEmailSender;
+import dev.tylerpac.backend.service.email.RecordingEmailSender.SentEmail;
+
+@SpringBootTest(properties = "app.email.campaign.batch-size=10")
+@Import(RecordingEmailSender.Config.class)
+class EmailCampaignServiceTest {
+
+    @Autowired
+    private EmailCampaignService emailCampaignService;
+
+    @Autowired
+    private EmailCampaignRepository emailCampaignRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecordingEmailSender recordingEmailSender;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            User user = new User("campaign-" + i, "x", "campaign-" + i + "@example.com");
+            user.setEmailVerified(true);
+            userRepository.save(user);
+        }
+        for (int i = 0; i < 5; i++) {
+            userRepository.save(new User("unverified-" + i, "x", "unverified-" + i + "@example.com"));
+        }
+        recordingEmailSender.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        emailCampaignRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void sendsOncePerVerifiedUserAndCompletes() {
+        EmailCampaign campaign = emailCampaignService.create("new-packs", "New packs", "Hi {{username}}, new packs are out.");
+
+        emailCampaignService.run(campaign.getId());
+
+        List<SentEmail> sent = recordingEmailSender.getSent();
+        assertThat(sent).hasSize(25);
+        assertThat(sent).extracting(SentEmail::to).doesNotHaveDuplicates().allMatch(to -> to.startsWith("campaign-"));
+        assertThat(sent).anyMatch(email -> email.textBody().equals("Hi campaign-7, new packs are out."));
+
+        EmailCampaign finished = emailCampaignRepository.findById(campaign.getId()).orElseThrow();
+        assertThat(finished.getStatus()).isEqualTo(EmailCampaignStatus.COMPLETED);
+        assertThat(finished.getSentCount()).isEqualTo(25);
+        assertThat(emailCampaignService.getLastBatch().recipients()).isEqualTo(5);
+    }
+
+    @Test
+    void resumesAfterTheCheckpoint() {
+        EmailCampaign campaign = emailCampaignService.create("resume", "Resume", "body");
+        List<User> verified = userRepository.findAll().stream().filter(User::isEmailVerified).toList();
+        campaign.setLastUserId(verified.get(19).getId());
+        emailCampaignRepository.save(campaign);
+
+        emailCampaignService.run(campaign.getId());
+
+        assertThat(recordingEmailSender.getSent()).extracting(SentEmail::to)
+            .containsExactlyInAnyOrder("campaign-20@example.com", "campaign-21@example.com", "campaign-22@example.com",
+                "campaign-23@example.com", "campaign-24@example.com");
+    }
+}
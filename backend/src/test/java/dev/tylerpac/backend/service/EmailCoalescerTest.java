@@ -0,0 +1,44 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tylerpac.backend.service.EmailCoalescer.MessageType;
+
+class EmailCoalescerTest {
+
+    @Test
+    void sendsOncePerRecipientAndTypeWithinTheWindow() {
+        EmailCoalescer coalescer = new EmailCoalescer(300, 100);
+
+        assertThat(coalescer.tryAcquire("User@Example.com", MessageType.PASSWORD_RESET)).isTrue();
+        assertThat(coalescer.tryAcquire("user@example.com", MessageType.PASSWORD_RESET)).isFalse();
+        assertThat(coalescer.tryAcquire("user@example.com", MessageType.PASSWORD_RESET)).isFalse();
+        assertThat(coalescer.tryAcquire("user@example.com", MessageType.VERIFICATION)).isTrue();
+
+        assertThat(coalescer.getSuppressedCount(MessageType.PASSWORD_RESET)).isEqualTo(2);
+        assertThat(coalescer.getSentCount(MessageType.PASSWORD_RESET)).isEqualTo(1);
+    }
+
+    @Test
+    void discriminatorSeparatesOrders() {
+        EmailCoalescer coalescer = new EmailCoalescer(300, 100);
+
+        assertThat(coalescer.tryAcquire("buyer@example.com", MessageType.ORDER_PAID, 1L)).isTrue();
+        assertThat(coalescer.tryAcquire("buyer@example.com", MessageType.ORDER_PAID, 2L)).isTrue();
+        assertThat(coalescer.tryAcquire("buyer@example.com", MessageType.ORDER_PAID, 1L)).isFalse();
+    }
+
+    @Test
+    void trackedKeysStayBoundedAndOverflowFailsOpen() {
+        EmailCoalescer coalescer = new EmailCoalescer(300, 3);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(coalescer.tryAcquire("user" + i + "@example.com", MessageType.VERIFICATION)).isTrue();
+        }
+
+        assertThat(coalescer.getTrackedKeys()).isEqualTo(3);
+        assertThat(coalescer.getUntrackedCount()).isEqualTo(7);
+    }
+}
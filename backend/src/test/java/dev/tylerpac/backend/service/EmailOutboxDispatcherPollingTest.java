@@ -0,0 +1,81 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import dev.tylerpac.backend.model.EmailOutboxStatus;
+import dev.tylerpac.backend.repo.EmailOutboxRepository;
+import dev.tylerpac.backend.service.email.EmailSender;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outboxpolling;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.scheduling.pool-size=1",
+    "app.email.outbox.poll-interval-ms=50"
+})
+class EmailOutboxDispatcherPollingTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private BusyJob busyJob;
+
+    @MockitoBean
+    private EmailSender emailSender;
+
+    @AfterEach
+    void cleanUp() {
+        busyJob.release.countDown();
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void outboxKeepsDrainingWhileTheSchedulerIsBusy() throws Exception {
+        assertThat(busyJob.started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        emailOutboxService.enqueue("verify@example.com", "Verify your email", "body");
+
+        await().atMost(Duration.ofSeconds(5)).until(
+            () -> emailOutboxRepository.countByStatus(EmailOutboxStatus.SENT) == 1);
+        verify(emailSender).sendEmail("verify@example.com", "Verify your email", "body");
+        assertThat(busyJob.release.getCount()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class BusyJobConfig {
+
+        @Bean
+        BusyJob busyJob() {
+            return new BusyJob();
+        }
+    }
+
+    static class BusyJob {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Scheduled(fixedDelay = 60000)
+        void holdTheSchedulerThread() throws InterruptedException {
+            started.countDown();
+            release.await(30, TimeUnit.SECONDS);
+        }
+    }
+}
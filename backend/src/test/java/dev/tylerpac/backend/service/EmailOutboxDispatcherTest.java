@@ -0,0 +1,97 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import dev.tylerpac.backend.model.EmailOutboxMessage;
+import dev.tylerpac.backend.model.EmailOutboxStatus;
+import dev.tylerpac.backend.repo.EmailOutboxRepository;
+import dev.tylerpac.backend.service.email.EmailSender;
+
+@SpringBootTest(properties = {
+    "app.email.outbox.initial-backoff-seconds=0",
+    "app.email.outbox.max-attempts=2"
+})
+class EmailOutboxDispatcherTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @MockitoBean
+    private EmailSender emailSender;
+
+    @AfterEach
+    void cleanUp() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void failedSendIsRetriedThenMarkedSent() {
+        doThrow(new IllegalStateException("smtp down"))
+            .doNothing()
+            .when(emailSender).sendEmail(eq("retry@example.com"), anyString(), anyString());
+        emailOutboxService.enqueue("retry@example.com", "subject", "body");
+
+        emailOutboxDispatcher.dispatch();
+        EmailOutboxMessage retrying = awaitStatus(EmailOutboxStatus.PENDING, 1);
+        assertThat(retrying.getLastError()).contains("smtp down");
+
+        emailOutboxDispatcher.dispatch();
+        EmailOutboxMessage sent = awaitStatus(EmailOutboxStatus.SENT, 2);
+        assertThat(sent.getSentAt()).isNotNull();
+        verify(emailSender, times(2)).sendEmail("retry@example.com", "subject", "body");
+    }
+
+    @Test
+    void messageIsDeadLetteredAfterMaxAttempts() {
+        doThrow(new IllegalStateException("rejected recipient"))
+            .when(emailSender).sendEmail(eq("dead@example.com"), anyString(), anyString());
+        emailOutboxService.enqueue("dead@example.com", "subject", "body");
+
+        emailOutboxDispatcher.dispatch();
+        awaitStatus(EmailOutboxStatus.PENDING, 1);
+        emailOutboxDispatcher.dispatch();
+        EmailOutboxMessage dead = awaitStatus(EmailOutboxStatus.DEAD, 2);
+
+        assertThat(dead.getLastError()).contains("rejected recipient");
+        emailOutboxDispatcher.dispatch();
+        verify(emailSender, times(2)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void enqueueDoesNotCallTheSender() {
+        doNothing().when(emailSender).sendEmail(anyString(), anyString(), anyString());
+
+        emailOutboxService.enqueue("queued@example.com", "subject", "body");
+
+        verify(emailSender, times(0)).sendEmail(anyString(), anyString(), anyString());
+        assertThat(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING)).isEqualTo(1);
+    }
+
+    private EmailOutboxMessage awaitStatus(EmailOutboxStatus status, int attempts) {
+        return await().atMost(Duration.ofSeconds(5)).until(
+            () -> emailOutboxRepository.findAll().get(0),
+            message -> message.getStatus() == status && message.getAttempts() == attempts
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IpRateLimiterTest {
+
+    @Test
+    void rotatingKeysEvictTheOldestBucketInsteadOfDisablingLimits() {
+        IpRateLimiter limiter = new IpRateLimiter(2, 3);
+
+        assertThat(limiter.isLimited("10.0.0.1")).isFalse();
+        assertThat(limiter.isLimited("10.0.0.1")).isFalse();
+        assertThat(limiter.isLimited("10.0.0.1")).isTrue();
+
+        for (int i = 2; i < 50; i++) {
+            limiter.isLimited("10.0.0." + i);
+            assertThat(limiter.getTrackedKeys()).isLessThanOrEqualTo(3);
+        }
+        assertThat(limiter.getEvictedCount()).isEqualTo(46);
+        assertThat(limiter.getUntrackedCount()).isZero();
+
+        assertThat(limiter.isLimited("10.0.0.49")).isFalse();
+        assertThat(limiter.isLimited("10.0.0.49")).isTrue();
+    }
+}
@@ -0,0 +1,29 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import dev.tylerpac.backend.repo.AuthLoginLockRepository;
+
+class LoginFailureTrackerTest {
+
+    @Test
+    void trackedKeysStayCappedWithoutEvictingActiveLocks() {
+        LoginFailureTracker tracker = new LoginFailureTracker(
+            mock(AuthLoginLockRepository.class), mock(PlatformTransactionManager.class), 2, 15, 15, 3, 200);
+
+        tracker.recordFailure("victim|10.0.0.1");
+        tracker.recordFailure("victim|10.0.0.1");
+        assertThat(tracker.isLocked("victim|10.0.0.1")).isTrue();
+
+        for (int i = 0; i < 50; i++) {
+            tracker.recordFailure("rotating|10.0.1." + i);
+            assertThat(tracker.getTrackedKeys()).isLessThanOrEqualTo(3);
+        }
+        assertThat(tracker.isLocked("victim|10.0.0.1")).isTrue();
+        assertThat(tracker.getUntrackedCount()).isZero();
+    }
+}
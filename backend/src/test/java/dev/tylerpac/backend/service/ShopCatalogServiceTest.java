@@ -0,0 +1,95 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import dev.tylerpac.backend.dto.ShopProductResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+class ShopCatalogServiceTest {
+
+    @Test
+    void refreshRunsInTheBackgroundWhileReadersKeepTheCachedCatalog() throws Exception {
+        StubSource source = new StubSource(List.of(product("starter-pack", 1900, "price_1")));
+        ShopCatalogService service = new ShopCatalogService(source, JsonMapper.builder().build(), "usd");
+        ShopCatalog initial = service.current();
+        assertThat(initial.find("starter-pack")).map(ShopProductResponse::getPriceId).contains("price_1");
+
+        CountDownLatch release = new CountDownLatch(1);
+        source.gate = release;
+        source.products.set(List.of(product("starter-pack", 2900, "price_2")));
+        service.markStale();
+        service.refreshAhead();
+
+        assertThat(service.current()).isSameAs(initial);
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+            assertThat(service.current().find("starter-pack")).map(ShopProductResponse::getPriceId).contains("price_2"));
+        service.shutdown();
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousCatalog() {
+        StubSource source = new StubSource(List.of(product("starter-pack", 1900, "price_1")));
+        ShopCatalogService service = new ShopCatalogService(source, JsonMapper.builder().build(), "usd");
+        ShopCatalog initial = service.current();
+
+        source.products.set(null);
+        service.refresh();
+
+        assertThat(service.current()).isSameAs(initial);
+        assertThat(service.getRefreshFailureCount()).isEqualTo(1);
+        service.shutdown();
+    }
+
+    private static ShopProductResponse product(String id, long amountCents, String priceId) {
+        ShopProductResponse product = new ShopProductResponse(id, "Pack", null, amountCents, null);
+        product.setPriceId(priceId);
+        return product;
+    }
+
+    private static final class StubSource implements CatalogSource {
+
+        private final AtomicReference<List<ShopProductResponse>> products;
+        private volatile CountDownLatch gate;
+
+        StubSource(List<ShopProductResponse> products) {
+            this.products = new AtomicReference<>(products);
+        }
+
+        @Override
+        public List<ShopProductResponse> fetchProducts() {
+            CountDownLatch latch = gate;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            List<ShopProductResponse> current = products.get();
+            if (current == null) {
+                throw new IllegalStateException("Stripe unavailable");
+            }
+            return current;
+        }
+
+        @Override
+        public boolean needsRefresh(Duration age) {
+            return false;
+        }
+
+        @Override
+        public String describe() {
+            return "stub";
+        }
+    }
+}
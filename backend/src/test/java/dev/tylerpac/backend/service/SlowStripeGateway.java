@@ -0,0 +1,111 @@
+package dev.tylerpac.backend.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import com.stripe.model.Customer;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.CustomerCreateParams;
+import com.stripe.param.checkout.SessionCreateParams;
+
+class SlowStripeGateway implements StripeCheckoutGateway {
+
+    private static final long LATENCY_MS = 150;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger peakInFlight = new AtomicInteger();
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger customersCreated = new AtomicInteger();
+    final Map<String, List<Session>> sessionsByCustomer = new ConcurrentHashMap<>();
+    final List<String> expired = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Session createSession(SessionCreateParams params, RequestOptions requestOptions) {
+        remoteCall();
+        Session session = new Session();
+        session.setId("cs_test_" + requestOptions.getIdempotencyKey());
+        session.setUrl("https://checkout.stripe.test/" + session.getId());
+        session.setExpiresAt(Instant.now().plus(30, ChronoUnit.MINUTES).getEpochSecond());
+        return session;
+    }
+
+    @Override
+    public Session retrieveSession(String sessionId) {
+        remoteCall();
+        Session session = new Session();
+        session.setId(sessionId);
+        session.setStatus("open");
+        return session;
+    }
+
+    @Override
+    public Session expireSession(String sessionId) {
+        remoteCall();
+        expired.add(sessionId);
+        Session session = new Session();
+        session.setId(sessionId);
+        session.setStatus("expired");
+        return session;
+    }
+
+    @Override
+    public List<Session> findSessions(String customerId, long createdAfterEpochSecond) {
+        return sessionsByCustomer.getOrDefault(customerId, List.of());
+    }
+
+    @Override
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) {
+        remoteCall();
+        return new PaymentIntent();
+    }
+
+    @Override
+    public Customer createCustomer(CustomerCreateParams params, RequestOptions requestOptions) {
+        remoteCall();
+        customersCreated.incrementAndGet();
+        Customer customer = new Customer();
+        customer.setId("cus_test_" + params.getEmail());
+        return customer;
+    }
+
+    void reset() {
+        peakInFlight.set(0);
+        calls.set(0);
+        customersCreated.set(0);
+        sessionsByCustomer.clear();
+        expired.clear();
+    }
+
+    private void remoteCall() {
+        calls.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(LATENCY_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        @Primary
+        SlowStripeGateway slowStripeGateway() {
+            return new SlowStripeGateway();
+        }
+    }
+}
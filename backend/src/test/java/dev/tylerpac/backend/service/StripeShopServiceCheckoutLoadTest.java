@@ -0,0 +1,207 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.stripe.model.checkout.Session;
+
+import dev.tylerpac.backend.dto.CreateCheckoutSessionResponse;
+import dev.tylerpac.backend.model.ShopOrder;
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.ShopOrderRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:checkoutload;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "app.shop.checkout-recovery-grace-seconds=0",
+    "app.shop.customer-provisioning.enabled=true",
+    "app.shop.checkout-prefetch.enabled=true",
+    "app.shop.checkout-prefetch.ttl-seconds=2"
+})
+@Import(SlowStripeGateway.Config.class)
+class StripeShopServiceCheckoutLoadTest {
+
+    private static final int POOL_SIZE = 2;
+    private static final int CHECKOUTS = 24;
+
+    @Autowired
+    private StripeShopService stripeShopService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopOrderRepository shopOrderRepository;
+
+    @Autowired
+    private SlowStripeGateway gateway;
+
+    @Autowired
+    private StripeCustomerProvisioner customerProvisioner;
+
+    @Autowired
+    private CheckoutSessionPool checkoutSessionPool;
+
+    @MockitoBean
+    private ShopReconciliationService scheduledReconciliation;
+
+    @AfterEach
+    void cleanUp() {
+        shopOrderRepository.deleteAll();
+        userRepository.deleteAll();
+        gateway.reset();
+    }
+
+    @Test
+    void stripeCallsDoNotHoldPooledConnections() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            userIds.add(userRepository.save(new User("load-" + i, "unused", "load-" + i + "@example.com")).getId());
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CreateCheckoutSessionResponse>> results = new ArrayList<>();
+        for (Long userId : userIds) {
+            results.add(clients.submit(() -> {
+                start.await();
+                return stripeShopService.createCheckoutSession(userId, "starter-pack", null);
+            }));
+        }
+
+        start.countDown();
+        for (Future<CreateCheckoutSessionResponse> result : results) {
+            assertThat(result.get().getSessionId()).startsWith("cs_test_");
+        }
+        clients.shutdown();
+
+        // Holding a connection across the Stripe calls would cap concurrent calls at the pool size.
+        assertThat(gateway.peakInFlight.get()).isGreaterThan(POOL_SIZE * 2);
+        assertThat(shopOrderRepository.findAll())
+            .hasSize(CHECKOUTS)
+            .allSatisfy(order -> assertThat(order.getStripeCheckoutSessionId()).isNotNull());
+    }
+
+    @Test
+    void reconciliationRecoversOrdersLeftWithoutASession() {
+        User user = new User("recover", "unused", "recover@example.com");
+        user.setStripeCustomerId("cus_recover");
+        userRepository.save(user);
+
+        ShopOrder linked = pendingOrder(user, "linked");
+        ShopOrder orphaned = pendingOrder(user, "orphaned");
+        Session session = new Session();
+        session.setId("cs_test_recovered");
+        session.setMetadata(Map.of("orderId", String.valueOf(linked.getId())));
+        gateway.sessionsByCustomer.put("cus_recover", List.of(session));
+
+        stripeShopService.reconcilePendingOrders();
+
+        assertThat(shopOrderRepository.findById(linked.getId())).get()
+            .satisfies(order -> {
+                assertThat(order.getStripeCheckoutSessionId()).isEqualTo("cs_test_recovered");
+                assertThat(order.getStatus()).isEqualTo("PENDING");
+            });
+        assertThat(shopOrderRepository.findById(orphaned.getId())).get()
+            .satisfies(order -> assertThat(order.getStatus()).isEqualTo("EXPIRED"));
+    }
+
+    @Test
+    void concurrentIdenticalCheckoutsShareOneStripeCall() throws Exception {
+        Long userId = userRepository.save(new User("double-submit", "unused", "double-submit@example.com")).getId();
+
+        ExecutorService clients = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CreateCheckoutSessionResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String productId = i % 2 == 0 ? "starter-pack" : "pro-pack";
+            results.add(clients.submit(() -> {
+                start.await();
+                return stripeShopService.createCheckoutSession(userId, productId, null);
+            }));
+        }
+        start.countDown();
+        List<String> sessionIds = new ArrayList<>();
+        for (Future<CreateCheckoutSessionResponse> result : results) {
+            sessionIds.add(result.get().getSessionId());
+        }
+        clients.shutdown();
+
+        assertThat(sessionIds).doesNotContainNull().containsOnly(sessionIds.get(0), sessionIds.get(1));
+        assertThat(shopOrderRepository.findAll()).hasSize(2);
+        assertThat(gateway.customersCreated.get()).isEqualTo(1);
+        assertThat(userRepository.findById(userId)).get()
+            .satisfies(user -> assertThat(user.getStripeCustomerId()).isEqualTo("cus_test_double-submit@example.com"));
+    }
+
+    @Test
+    void provisionedCustomersLeaveCheckoutWithASingleStripeCall() throws Exception {
+        User verified = new User("provisioned", "unused", "provisioned@example.com");
+        verified.setEmailVerified(true);
+        Long userId = userRepository.save(verified).getId();
+        userRepository.save(new User("unverified", "unused", "unverified@example.com"));
+
+        assertThat(customerProvisioner.backfill()).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> customerProvisioner.getPendingCount() == 0);
+        assertThat(userRepository.findById(userId)).get()
+            .satisfies(user -> assertThat(user.getStripeCustomerId()).isEqualTo("cus_test_provisioned@example.com"));
+        assertThat(customerProvisioner.backfill()).isZero();
+
+        gateway.reset();
+        stripeShopService.createCheckoutSession(userId, "starter-pack", null);
+        assertThat(gateway.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void prefetchedSessionsAnswerCheckoutWithoutCallingStripe() throws Exception {
+        User user = new User("prefetch", "unused", "prefetch@example.com");
+        user.setStripeCustomerId("cus_prefetch");
+        Long userId = userRepository.save(user).getId();
+
+        assertThat(stripeShopService.prefetchCheckoutSession(userId, "starter-pack")).isTrue();
+        assertThat(stripeShopService.prefetchCheckoutSession(userId, "starter-pack")).isFalse();
+        assertThat(stripeShopService.prefetchCheckoutSession(userId, "pro-pack")).isTrue();
+        assertThat(gateway.calls.get()).isEqualTo(2);
+        assertThat(shopOrderRepository.findAll()).isEmpty();
+
+        CreateCheckoutSessionResponse response = stripeShopService.createCheckoutSession(userId, "starter-pack", null);
+        assertThat(gateway.calls.get()).isEqualTo(2);
+        assertThat(checkoutSessionPool.getHitCount()).isEqualTo(1);
+        assertThat(shopOrderRepository.findAll()).singleElement()
+            .satisfies(order -> assertThat(order.getStripeCheckoutSessionId()).isEqualTo(response.getSessionId()));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stripeShopService.expirePrefetchedSessions() == 1);
+        assertThat(gateway.expired).singleElement().asString().contains(":pro-pack:");
+        assertThat(checkoutSessionPool.getWastedCount()).isEqualTo(1);
+        assertThat(checkoutSessionPool.getSize()).isZero();
+    }
+
+    private ShopOrder pendingOrder(User user, String key) {
+        ShopOrder order = new ShopOrder();
+        order.setUser(user);
+        order.setProductId("starter-pack");
+        order.setProductName("Starter Pack");
+        order.setAmountCents(1900);
+        order.setCurrency("usd");
+        order.setStatus("PENDING");
+        order.setIdempotencyKey("checkout:" + user.getId() + ":" + key);
+        return shopOrderRepository.save(order);
+    }
+}
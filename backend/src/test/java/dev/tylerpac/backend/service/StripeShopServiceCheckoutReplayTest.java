@@ -0,0 +1,78 @@
+package dev.tylerpac.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import dev.tylerpac.backend.dto.CreateCheckoutSessionResponse;
+import dev.tylerpac.backend.model.ShopOrder;
+import dev.tylerpac.backend.model.User;
+import dev.tylerpac.backend.repo.ShopOrderRepository;
+import dev.tylerpac.backend.repo.UserRepository;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:checkoutreplay;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@Import(SlowStripeGateway.Config.class)
+class StripeShopServiceCheckoutReplayTest {
+
+    @Autowired
+    private StripeShopService stripeShopService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopOrderRepository shopOrderRepository;
+
+    @Autowired
+    private SlowStripeGateway gateway;
+
+    @Autowired
+    private CheckoutReplayCache replayCache;
+
+    @MockitoBean
+    private ShopReconciliationService scheduledReconciliation;
+
+    @AfterEach
+    void cleanUp() {
+        shopOrderRepository.deleteAll();
+        userRepository.deleteAll();
+        gateway.reset();
+    }
+
+    @Test
+    void idempotentReplaysAreServedLocallyUntilTheSessionExpires() throws Exception {
+        User user = new User("replay", "unused", "replay@example.com");
+        user.setStripeCustomerId("cus_replay");
+        Long userId = userRepository.save(user).getId();
+
+        CreateCheckoutSessionResponse first = stripeShopService.createCheckoutSession(userId, "starter-pack", "double-click");
+        assertThat(gateway.calls.get()).isEqualTo(1);
+
+        assertThat(stripeShopService.createCheckoutSession(userId, "starter-pack", "double-click"))
+            .usingRecursiveComparison().isEqualTo(first);
+        String scopedKey = "checkout:" + userId + ":double-click";
+        replayCache.invalidate(scopedKey);
+        assertThat(stripeShopService.createCheckoutSession(userId, "starter-pack", "double-click"))
+            .usingRecursiveComparison().isEqualTo(first);
+        assertThat(gateway.calls.get()).isEqualTo(1);
+
+        ShopOrder order = shopOrderRepository.findAll().get(0);
+        order.setCheckoutExpiresAt(Instant.now().minusSeconds(1));
+        shopOrderRepository.save(order);
+        replayCache.invalidate(scopedKey);
+        CreateCheckoutSessionResponse renewed = stripeShopService.createCheckoutSession(userId, "starter-pack", "double-click");
+        assertThat(renewed.getSessionId()).isNotEqualTo(first.getSessionId());
+        assertThat(gateway.calls.get()).isEqualTo(2);
+        assertThat(shopOrderRepository.findAll()).singleElement()
+            .satisfies(renewedOrder -> assertThat(renewedOrder.getStripeCheckoutSessionId()).isEqualTo(renewed.getSessionId()));
+    }
+}
@@ -0,0 +1,118 @@
+package dev.tylerpac.backend.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.tylerpac.backend.service.email.EmailTemplates.RenderedEmail;
+
+class EmailTemplatesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplatesTest.class);
+
+    @Test
+    void bundledTemplatesMatchThePreviousCopy() {
+        EmailTemplates templates = new EmailTemplates(null);
+
+        RenderedEmail email = templates.render("order-paid", Map.of(
+            "username", "sam", "productName", "Starter Pack", "orderId", 42L));
+
+        assertThat(email.subject()).isEqualTo("SolaceStudio purchase confirmed");
+        assertThat(email.textBody()).isEqualTo(concatenatedOrderPaid("sam", "Starter Pack", 42L));
+        assertThat(email.htmlBody()).contains("<td>Starter Pack</td>");
+    }
+
+    @Test
+    void htmlValuesAreEscapedAndTextValuesAreNot() {
+        EmailTemplates templates = new EmailTemplates(null);
+
+        RenderedEmail email = templates.render("verification", Map.of(
+            "username", "<b>sam</b>", "link", "https://example.com/verify?token=a&b"));
+
+        assertThat(email.textBody()).startsWith("Hi <b>sam</b>,");
+        assertThat(email.htmlBody()).contains("Hi &lt;b&gt;sam&lt;/b&gt;,").contains("token=a&amp;b");
+    }
+
+    @Test
+    void changedOverrideFileIsReloaded(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("order-failed.txt");
+        Files.writeString(file, "Subject: First\n\nfirst {{username}}\n");
+        EmailTemplates templates = new EmailTemplates(dir);
+        Map<String, Object> model = Map.of("username", "sam", "productName", "p", "orderId", 1L);
+
+        assertThat(templates.render("order-failed", model).textBody()).isEqualTo("first sam");
+
+        Files.writeString(file, "Subject: Second\n\nsecond {{username}}\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        templates.reloadChanged();
+
+        RenderedEmail reloaded = templates.render("order-failed", model);
+        assertThat(reloaded.subject()).isEqualTo("Second");
+        assertThat(reloaded.textBody()).isEqualTo("second sam");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void textBodyRenderVersusConcatenationBenchmark() throws Exception {
+        CompiledTemplate template = CompiledTemplate.compile(bundledTextBody("order-paid"), false);
+        StringBuilder buffer = new StringBuilder(1024);
+        assertThat(renderText(template, buffer, 42L)).isEqualTo(concatenatedOrderPaid("sam", "Starter Pack", 42L));
+
+        int iterations = 200_000;
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += concatenatedOrderPaid("sam", "Starter Pack", i).length();
+            sink += renderText(template, buffer, i).length();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += concatenatedOrderPaid("sam", "Starter Pack", i).length();
+        }
+        long concatNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += renderText(template, buffer, i).length();
+        }
+        long templateNanos = System.nanoTime() - started;
+
+        log.info("Email text body benchmark: concatenation {} ns/op, compiled template {} ns/op (checksum {})",
+            concatNanos / iterations, templateNanos / iterations, sink);
+    }
+
+    private static String renderText(CompiledTemplate template, StringBuilder buffer, long orderId) {
+        buffer.setLength(0);
+        template.renderTo(buffer, Map.of("username", "sam", "productName", "Starter Pack", "orderId", orderId));
+        return buffer.toString();
+    }
+
+    private static String bundledTextBody(String name) throws Exception {
+        try (InputStream in = EmailTemplatesTest.class.getClassLoader().getResourceAsStream("email-templates/" + name + ".txt")) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            return source.substring(source.indexOf("\n\n") + 2).stripTrailing();
+        }
+    }
+
+    private static String concatenatedOrderPaid(String username, String productName, long orderId) {
+        return "Hi " + username + ",\n\n"
+            + "Payment was confirmed for your order.\n"
+            + "Product: " + productName + "\n"
+            + "Order id: " + orderId + "\n"
+            + "Status: PAID\n\n"
+            + "Thank you for your purchase!";
+    }
+}
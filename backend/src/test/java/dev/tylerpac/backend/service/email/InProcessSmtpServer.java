@@ -0,0 +1,143 @@
+package dev.tylerpac.backend.service.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InProcessSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newCachedThreadPool();
+    private final ConcurrentLinkedQueue<Received> received = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> logins = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public InProcessSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        sessions.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<Received> getReceived() {
+        return List.copyOf(received);
+    }
+
+    public List<String> getLogins() {
+        return List.copyOf(logins);
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.incrementAndGet();
+                sessions.execute(() -> serve(socket));
+            } catch (IOException ex) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost ESMTP test");
+
+            String from = null;
+            String to = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String upper = line.toUpperCase();
+                if (upper.startsWith("EHLO")) {
+                    reply(out, "250-localhost\r\n250-PIPELINING\r\n250 AUTH PLAIN");
+                } else if (upper.startsWith("AUTH PLAIN ")) {
+                    String[] parts = new String(Base64.getDecoder().decode(line.substring(11)), StandardCharsets.UTF_8)
+                        .split("\0");
+                    logins.add(parts[1]);
+                    reply(out, "235 2.7.0 Authentication successful");
+                } else if (upper.startsWith("MAIL FROM:")) {
+                    from = address(line);
+                    reply(out, "250 OK");
+                } else if (upper.startsWith("RCPT TO:")) {
+                    String candidate = address(line);
+                    if (candidate.startsWith("reject")) {
+                        reply(out, "550 5.1.1 No such user");
+                    } else {
+                        to = candidate;
+                        reply(out, "250 OK");
+                    }
+                } else if (upper.equals("DATA")) {
+                    if (to == null) {
+                        reply(out, "554 No valid recipients");
+                        continue;
+                    }
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line).append("\r\n");
+                    }
+                    received.add(new Received(from, to, data.toString()));
+                    if (to.startsWith("drop-after-data")) {
+                        return;
+                    }
+                    from = null;
+                    to = null;
+                    reply(out, "250 OK queued");
+                } else if (upper.equals("RSET")) {
+                    from = null;
+                    to = null;
+                    reply(out, "250 OK");
+                } else if (upper.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException ignored) {
+            // Client went away.
+        }
+    }
+
+    private static String address(String line) {
+        return line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    public record Received(String from, String to, String data) {
+
+        public String body() {
+            String encoded = data.substring(data.indexOf("\r\n\r\n") + 4).replace("\r\n", "");
+            return new String(Base64.getDecoder().decode(encoded), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.tylerpac.backend.service.email;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+public class RecordingEmailSender implements EmailSender {
+
+    private final ConcurrentLinkedQueue<SentEmail> sent = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rateLookups = new AtomicInteger();
+
+    @Override
+    public void sendEmail(String to, String subject, String textBody) {
+        sent.add(new SentEmail(to, subject, textBody));
+    }
+
+    @Override
+    public double maxSendRate() {
+        rateLookups.incrementAndGet();
+        return 10_000;
+    }
+
+    public int getRateLookups() {
+        return rateLookups.get();
+    }
+
+    public List<SentEmail> getSent() {
+        return List.copyOf(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+
+    public record SentEmail(String to, String subject, String textBody) {
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        @Primary
+        RecordingEmailSender recordingEmailSender() {
+            return new RecordingEmailSender();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package dev.tylerpac.backend.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class SmtpEmailSenderTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpEmailSenderTest.class);
+
+    private InProcessSmtpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new InProcessSmtpServer();
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void concurrentSendsReuseAuthenticatedSessions() throws Exception {
+        try (SmtpEmailSender sender = sender(4, 1000)) {
+            sendConcurrently(sender, 200, 8);
+
+            assertThat(server.getReceived()).hasSize(200);
+            assertThat(sender.getConnectionsOpened()).isLessThanOrEqualTo(4);
+            assertThat(server.getLogins()).hasSize((int) sender.getConnectionsOpened()).containsOnly("relay-user");
+            assertThat(server.getReceived().get(0).body()).startsWith("Hi user-");
+        }
+    }
+
+    @Test
+    void rejectedRecipientKeepsTheSessionUsable() throws Exception {
+        try (SmtpEmailSender sender = sender(1, 1000)) {
+            assertThatThrownBy(() -> sender.sendEmail("reject@example.com", "Subject", "body"))
+                .isInstanceOfSatisfying(SmtpException.class, ex -> assertThat(ex.isPermanent()).isTrue());
+
+            sender.sendEmail("ok@example.com", "Subject", "body");
+
+            assertThat(server.getReceived()).extracting(InProcessSmtpServer.Received::to).containsExactly("ok@example.com");
+            assertThat(sender.getConnectionsOpened()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void envelopeAddressesWithLineBreaksAreRejected() throws Exception {
+        try (SmtpEmailSender sender = sender(1, 1000)) {
+            assertThatThrownBy(() -> sender.sendEmail("ok@example.com>\r\nRCPT TO:<other@example.com", "Subject", "body"))
+                .isInstanceOf(SmtpException.class)
+                .hasMessageContaining("Invalid envelope address");
+
+            assertThat(server.getReceived()).isEmpty();
+        }
+    }
+
+    @Test
+    void lostReplyAfterDataIsNotResent() throws Exception {
+        try (SmtpEmailSender sender = sender(1, 1000)) {
+            sender.sendEmail("ok@example.com", "Subject", "body");
+
+            assertThatThrownBy(() -> sender.sendEmail("drop-after-data@example.com", "Subject", "body"))
+                .isInstanceOf(SmtpException.class);
+
+            assertThat(server.getReceived()).extracting(InProcessSmtpServer.Received::to)
+                .containsExactly("ok@example.com", "drop-after-data@example.com");
+            assertThat(sender.getConnectionsOpened()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void pooledSessionsBenchmark() throws Exception {
+        int messages = 2000;
+        double perMessageRate;
+        try (SmtpEmailSender sender = sender(4, 1)) {
+            perMessageRate = sendConcurrently(sender, messages, 8);
+            assertThat(sender.getConnectionsOpened()).isEqualTo(messages);
+        }
+        double pooledRate;
+        try (SmtpEmailSender sender = sender(4, 1000)) {
+            pooledRate = sendConcurrently(sender, messages, 8);
+            assertThat(sender.getConnectionsOpened()).isLessThanOrEqualTo(4);
+        }
+
+        log.info("SMTP benchmark: {} msg/s with a session per message, {} msg/s with pooled pipelined sessions",
+            Math.round(perMessageRate), Math.round(pooledRate));
+        assertThat(server.getReceived()).hasSize(messages * 2);
+    }
+
+    private SmtpEmailSender sender(int poolSize, int maxMessagesPerConnection) {
+        SmtpSettings settings = new SmtpSettings("127.0.0.1", server.getPort(), "relay-user", "secret", false,
+            "test-client", 2000, 5000, maxMessagesPerConnection);
+        return new SmtpEmailSender(settings, "no-reply@example.com", poolSize, 30_000, 5_000);
+    }
+
+    private static double sendConcurrently(SmtpEmailSender sender, int messages, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < messages; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> sender.sendEmail("user-" + n + "@example.com", "Subject " + n,
+                    "Hi user-" + n + ",\n\nThis is message " + n + ".")));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return messages / ((System.nanoTime() - started) / 1_000_000_000.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}